@@ -0,0 +1,61 @@
+package com.globalnews.benchmarks;
+
+import com.globalnews.utils.CommandLatency;
+import com.globalnews.utils.LatencyHistogram;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead that CommandLatency adds to each WebDriver command, measured on an
+ * in-memory driver so only the decorator and histogram are timed. Compare with
+ * ScriptRoundTripBenchmark.executeScriptNoop, the cost of a real command.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CommandLatencyBenchmark {
+
+    private JavascriptExecutor plain;
+    private JavascriptExecutor decorated;
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    @Setup
+    public void setUp() {
+        WebDriver driver = (WebDriver) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] {WebDriver.class, JavascriptExecutor.class},
+                (proxy, method, args) -> method.getReturnType() == Object.class ? 1L : null);
+        plain = (JavascriptExecutor) driver;
+        decorated = (JavascriptExecutor) CommandLatency.decorate(driver);
+    }
+
+    @Benchmark
+    public Object plainCommand() {
+        return plain.executeScript("return 1;");
+    }
+
+    @Benchmark
+    public Object decoratedCommand() {
+        return decorated.executeScript("return 1;");
+    }
+
+    @Benchmark
+    public void histogramRecord() {
+        histogram.record(1_234_567);
+    }
+}
@@ -0,0 +1,38 @@
+package com.globalnews.benchmarks;
+
+import com.globalnews.utils.DriverManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.json.Json;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of building the Chrome options of DriverManager.initializeDriver
+ * and serializing them into the new-session payload
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DriverOptionsBenchmark {
+
+    private static final Json JSON = new Json();
+
+    @Benchmark
+    public ChromeOptions buildChromeOptions() {
+        return DriverManager.buildChromeOptions(true);
+    }
+
+    @Benchmark
+    public String buildAndSerializeChromeOptions() {
+        return JSON.toJson(DriverManager.buildChromeOptions(true).asMap());
+    }
+}
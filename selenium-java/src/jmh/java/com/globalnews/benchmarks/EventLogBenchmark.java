@@ -0,0 +1,38 @@
+package com.globalnews.benchmarks;
+
+import com.globalnews.utils.EventLog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost on the test thread of recording a progress event, compared with the
+ * console println it replaces, with four threads logging concurrently
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Devents.console=off", "-Devents.file=target/jmh-events.jsonl"})
+@Threads(4)
+public class EventLogBenchmark {
+
+    private static final String STEP = "News section layout test passed";
+
+    @Benchmark
+    public void eventLogStep() {
+        EventLog.step(STEP);
+    }
+
+    @Benchmark
+    public void consolePrintln() {
+        System.out.println("🏗️ " + STEP);
+    }
+}
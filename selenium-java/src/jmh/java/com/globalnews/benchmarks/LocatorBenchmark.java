@@ -0,0 +1,72 @@
+package com.globalnews.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Locator strategies used by the suite, measured against the local stub page
+ * Requires Chrome.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LocatorBenchmark {
+
+    private StubPage page;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        page = StubPage.open();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        page.close();
+    }
+
+    /**
+     * NewsPanelStatesTest: By.xpath("//*[contains(text(), 'daily')]")
+     */
+    @Benchmark
+    public WebElement xpathContainsText() {
+        return page.driver().findElement(By.xpath("//*[contains(text(), 'daily')]"));
+    }
+
+    @Benchmark
+    public WebElement cssClass() {
+        return page.driver().findElement(By.cssSelector(".update-note"));
+    }
+
+    @Benchmark
+    public WebElement cssAttributeSubstring() {
+        return page.driver().findElement(By.cssSelector("input[placeholder*='Search for a country']"));
+    }
+
+    @Benchmark
+    public WebElement cssRole() {
+        return page.driver().findElement(By.cssSelector("input[role='combobox']"));
+    }
+
+    @Benchmark
+    public WebElement tagName() {
+        return page.driver().findElement(By.tagName("svg"));
+    }
+}
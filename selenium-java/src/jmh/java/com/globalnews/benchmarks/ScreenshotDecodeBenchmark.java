@@ -0,0 +1,80 @@
+package com.globalnews.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.OutputType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning a screenshot payload into PNG bytes
+ * Payload sizes are typical for 1920x1080 screenshots of the globe page.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ScreenshotDecodeBenchmark {
+
+    @Param({"262144", "1048576"})
+    private int pngBytes;
+
+    private byte[] png;
+    private String base64;
+    private byte[] base64Ascii;
+
+    @Setup
+    public void setUp() {
+        png = new byte[pngBytes];
+        new Random(42).nextBytes(png);
+        base64 = Base64.getEncoder().encodeToString(png);
+        base64Ascii = base64.getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Former BaseTest path: BASE64 string decoded on the test thread
+     */
+    @Benchmark
+    public byte[] decodeBase64String() {
+        return Base64.getDecoder().decode(base64);
+    }
+
+    /**
+     * Selenium's own conversion used by OutputType.BYTES, the path Artifacts takes
+     */
+    @Benchmark
+    public byte[] outputTypeBytes() {
+        return OutputType.BYTES.convertFromBase64Png(base64);
+    }
+
+    /**
+     * Decoding straight from the wire bytes, without the intermediate String
+     */
+    @Benchmark
+    public byte[] decodeBase64Ascii() {
+        return Base64.getDecoder().decode(base64Ascii);
+    }
+
+    /**
+     * Lower bound: copying the raw PNG once
+     */
+    @Benchmark
+    public byte[] copyRawBytes() {
+        return Arrays.copyOf(png, png.length);
+    }
+}
@@ -0,0 +1,83 @@
+package com.globalnews.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebElement;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WebDriver round-trip costs: an empty executeScript versus the
+ * findElement + getText/getAttribute sequences the tests use
+ * Requires Chrome.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ScriptRoundTripBenchmark {
+
+    private StubPage page;
+    private JavascriptExecutor js;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        page = StubPage.open();
+        js = (JavascriptExecutor) page.driver();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        page.close();
+    }
+
+    /**
+     * Fixed cost of one command round-trip
+     */
+    @Benchmark
+    public Object executeScriptNoop() {
+        return js.executeScript("return 1;");
+    }
+
+    /**
+     * Two round-trips: findElement then getText
+     */
+    @Benchmark
+    public String findElementGetText() {
+        return page.driver().findElement(By.tagName("h1")).getText();
+    }
+
+    /**
+     * Four round-trips: findElement, isDisplayed, getText, getAttribute
+     */
+    @Benchmark
+    public Object findElementReadProperties() {
+        WebElement input = page.driver().findElement(By.cssSelector("input[role='combobox']"));
+        return input.isDisplayed() + input.getText() + input.getAttribute("placeholder");
+    }
+
+    /**
+     * The same properties in one script call
+     */
+    @Benchmark
+    public Object singleScriptReadProperties() {
+        return js.executeScript(
+                "var el = document.querySelector(\"input[role='combobox']\");"
+                + "return [el.getClientRects().length > 0, el.innerText, el.getAttribute('placeholder')];");
+    }
+}
@@ -0,0 +1,80 @@
+package com.globalnews.benchmarks;
+
+import com.globalnews.utils.DriverBinaries;
+import com.globalnews.utils.DriverManager;
+import com.globalnews.utils.NetworkArchive;
+import com.globalnews.utils.ReplayServer;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Local stand-in for the globe page, served by a {@link ReplayServer} and opened
+ * in headless Chrome, so browser benchmarks do not depend on the network
+ */
+final class StubPage implements AutoCloseable {
+
+    private static final String HTML = buildHtml();
+
+    private final ReplayServer server;
+    private final WebDriver driver;
+
+    private StubPage(ReplayServer server, WebDriver driver) {
+        this.server = server;
+        this.driver = driver;
+    }
+
+    /**
+     * Serve the stub page and open it in a new headless Chrome
+     */
+    static StubPage open() throws IOException {
+        Path directory = Files.createTempDirectory("stub-page");
+        NetworkArchive archive = new NetworkArchive(directory);
+        archive.store("GET", "http://127.0.0.1/", 200, "text/html; charset=utf-8", List.of(),
+                HTML.getBytes(StandardCharsets.UTF_8));
+        archive.close();
+
+        ReplayServer server = ReplayServer.start(new NetworkArchive(directory).load());
+        DriverBinaries.chrome();
+        WebDriver driver = new ChromeDriver(DriverManager.buildChromeOptions(true));
+        driver.manage().timeouts().implicitlyWait(Duration.ZERO);
+        driver.get("http://127.0.0.1:" + server.getPort() + "/");
+        return new StubPage(server, driver);
+    }
+
+    WebDriver driver() {
+        return driver;
+    }
+
+    @Override
+    public void close() throws IOException {
+        driver.quit();
+        server.close();
+    }
+
+    /**
+     * Same landmarks as the real page (h1, search input, globe svg, update note)
+     * plus enough filler nodes to make document-wide lookups realistic
+     */
+    private static String buildHtml() {
+        StringBuilder html = new StringBuilder()
+                .append("<!DOCTYPE html><html><head><title>Interactive News Globe</title></head><body>")
+                .append("<h1>Interactive News Globe</h1>")
+                .append("<input role=\"combobox\" placeholder=\"Search for a country...\">")
+                .append("<svg class=\"cursor-grab\" tabindex=\"0\" width=\"600\" height=\"600\">");
+        for (int i = 0; i < 200; i++) {
+            html.append("<path class=\"country-path\" d=\"M").append(i).append(" 0 L").append(i + 1).append(" 1\"/>");
+        }
+        html.append("</svg><div class=\"news-list\">");
+        for (int i = 0; i < 500; i++) {
+            html.append("<div class=\"item\"><span>Headline ").append(i).append("</span></div>");
+        }
+        return html.append("</div><p class=\"update-note\">News is updated daily</p></body></html>").toString();
+    }
+}
@@ -1,5 +1,6 @@
 package com.globalnews.utils;
 
+import org.openqa.selenium.JavascriptExecutor;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Optional;
@@ -26,8 +27,9 @@ public class BaseTest {
             System.out.println("📍 Navigating to test page...");
             DriverManager.getDriver().navigate().to("https://www.google.com");
             
-            // Wait a moment for page to load
-            Thread.sleep(2000);
+            // Wait until the page has loaded instead of sleeping a fixed time
+            DriverManager.getWait().until(d -> "complete".equals(
+                    ((JavascriptExecutor) d).executeScript("return document.readyState")));
             
             System.out.println("✅ WebDriver setup completed successfully");
             
@@ -0,0 +1,120 @@
+package com.globalnews.pages;
+
+import com.globalnews.utils.DriverManager;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Base for page objects whose elements are cached proxies, see {@link CachedElement}.
+ * An element is looked up (waiting for it to be present) the first time it is used
+ * and reused afterwards; it is only looked up again when it has gone stale.
+ * Page objects belong to one browser, so create them inside the test method.
+ */
+public abstract class BasePage {
+
+    private static final AtomicLong SUITE_HITS = new AtomicLong();
+    private static final AtomicLong SUITE_RESOLUTIONS = new AtomicLong();
+    private static final AtomicLong SUITE_RE_RESOLUTIONS = new AtomicLong();
+
+    protected final WebDriver driver;
+    protected final WebDriverWait wait;
+    private final Map<By, WebElement> elements = new HashMap<>();
+
+    private long hits;
+    private long resolutions;
+    private long reResolutions;
+
+    /**
+     * Page object for the current thread's browser
+     */
+    protected BasePage() {
+        this(DriverManager.getDriver(), DriverManager.getWait());
+    }
+
+    protected BasePage(WebDriver driver, WebDriverWait wait) {
+        this.driver = driver;
+        this.wait = wait;
+    }
+
+    /**
+     * Cached element for a locator; the same proxy is returned for the same locator
+     */
+    protected WebElement element(By locator) {
+        return elements.computeIfAbsent(locator, by -> CachedElement.create(this, by));
+    }
+
+    /**
+     * Look up a cached element now (waiting for it) without sending a command to it
+     */
+    protected WebElement resolve(WebElement element) {
+        return ((WrapsElement) element).getWrappedElement();
+    }
+
+    WebElement find(By locator) {
+        return wait.until(ExpectedConditions.presenceOfElementLocated(locator));
+    }
+
+    void countHit() {
+        hits++;
+        SUITE_HITS.incrementAndGet();
+    }
+
+    void countResolution() {
+        resolutions++;
+        SUITE_RESOLUTIONS.incrementAndGet();
+    }
+
+    void countReResolution() {
+        reResolutions++;
+        SUITE_RE_RESOLUTIONS.incrementAndGet();
+    }
+
+    /**
+     * Element uses served from the cache without a findElement call
+     */
+    public long getCacheHits() {
+        return hits;
+    }
+
+    /**
+     * Lookups, including the first one of every element
+     */
+    public long getResolutions() {
+        return resolutions;
+    }
+
+    /**
+     * Lookups caused by a stale element, e.g. after a reload or re-render
+     */
+    public long getReResolutions() {
+        return reResolutions;
+    }
+
+    /**
+     * Counters of this page object
+     */
+    public String cacheSummary() {
+        return String.format("%s hits=%d resolutions=%d reResolutions=%d",
+                getClass().getSimpleName(), hits, resolutions, reResolutions);
+    }
+
+    /**
+     * Counters of all page objects in the suite
+     */
+    public static String suiteSummary() {
+        return String.format("hits=%d resolutions=%d reResolutions=%d",
+                SUITE_HITS.get(), SUITE_RESOLUTIONS.get(), SUITE_RE_RESOLUTIONS.get());
+    }
+
+    public static long getSuiteResolutions() {
+        return SUITE_RESOLUTIONS.get();
+    }
+}
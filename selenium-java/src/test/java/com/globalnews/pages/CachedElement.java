@@ -0,0 +1,76 @@
+package com.globalnews.pages;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * WebElement proxy that finds its element on first use and keeps it. A call that
+ * fails with StaleElementReferenceException finds the element again and is retried
+ * once; nothing else triggers a new lookup. Implements WrapsElement so Actions and
+ * executeScript arguments see the real element.
+ */
+final class CachedElement implements InvocationHandler {
+
+    private final BasePage page;
+    private final By locator;
+    private WebElement element;
+
+    private CachedElement(BasePage page, By locator) {
+        this.page = page;
+        this.locator = locator;
+    }
+
+    static WebElement create(BasePage page, By locator) {
+        return (WebElement) Proxy.newProxyInstance(CachedElement.class.getClassLoader(),
+                new Class<?>[] {WebElement.class, WrapsElement.class}, new CachedElement(page, locator));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    return "CachedElement(" + locator + ")";
+            }
+        }
+        if (method.getName().equals("getWrappedElement")) {
+            return resolve();
+        }
+
+        try {
+            return method.invoke(resolve(), args);
+        } catch (InvocationTargetException e) {
+            if (!(e.getCause() instanceof StaleElementReferenceException)) {
+                throw e.getCause();
+            }
+        }
+        element = null;
+        page.countReResolution();
+        try {
+            return method.invoke(resolve(), args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private WebElement resolve() {
+        if (element != null) {
+            page.countHit();
+            return element;
+        }
+        element = page.find(locator);
+        page.countResolution();
+        return element;
+    }
+}
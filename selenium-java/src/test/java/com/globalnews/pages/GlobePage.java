@@ -0,0 +1,93 @@
+package com.globalnews.pages;
+
+import com.globalnews.utils.FrameMetrics;
+import com.globalnews.utils.ReadinessConditions;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+
+/**
+ * The Interactive News Globe page: heading, globe and the search and news panel components
+ */
+public class GlobePage extends BasePage {
+
+    public static final String TITLE = "Interactive News Globe";
+
+    private SearchBox search;
+    private NewsPanel newsPanel;
+
+    public WebElement heading() {
+        return element(By.tagName("h1"));
+    }
+
+    public WebElement body() {
+        return element(By.tagName("body"));
+    }
+
+    /**
+     * The globe SVG
+     */
+    public WebElement globe() {
+        return element(By.cssSelector(ReadinessConditions.GLOBE_SVG));
+    }
+
+    /**
+     * Wait until the page body is present
+     */
+    public GlobePage waitUntilLoaded() {
+        resolve(body());
+        return this;
+    }
+
+    /**
+     * Wait until the globe SVG is present
+     */
+    public GlobePage waitForGlobe() {
+        resolve(globe());
+        return this;
+    }
+
+    /**
+     * Wait until the heading is present, i.e. the app has rendered
+     */
+    public GlobePage waitForHeading() {
+        resolve(heading());
+        return this;
+    }
+
+    public SearchBox search() {
+        if (search == null) {
+            search = new SearchBox(driver, wait);
+        }
+        return search;
+    }
+
+    public NewsPanel newsPanel() {
+        if (newsPanel == null) {
+            newsPanel = new NewsPanel(driver, wait);
+        }
+        return newsPanel;
+    }
+
+    /**
+     * Drag the globe left and right, see {@link FrameMetrics#dragGlobe}
+     */
+    public GlobePage rotate(int sweeps) {
+        FrameMetrics.dragGlobe(driver, sweeps);
+        return this;
+    }
+
+    /**
+     * Counters of this page and its components
+     */
+    @Override
+    public String cacheSummary() {
+        StringBuilder summary = new StringBuilder(super.cacheSummary());
+        if (search != null) {
+            summary.append(", ").append(search.cacheSummary());
+        }
+        if (newsPanel != null) {
+            summary.append(", ").append(newsPanel.cacheSummary());
+        }
+        return summary.toString();
+    }
+}
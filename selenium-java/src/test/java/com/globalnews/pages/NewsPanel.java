@@ -0,0 +1,25 @@
+package com.globalnews.pages;
+
+import com.globalnews.utils.ReadinessConditions;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+/**
+ * News panel shown after selecting a country
+ */
+public class NewsPanel extends BasePage {
+
+    NewsPanel(WebDriver driver, WebDriverWait wait) {
+        super(driver, wait);
+    }
+
+    public WebElement panel() {
+        return element(By.cssSelector(ReadinessConditions.NEWS_PANEL));
+    }
+
+    public String getText() {
+        return panel().getText();
+    }
+}
@@ -0,0 +1,49 @@
+package com.globalnews.pages;
+
+import com.globalnews.utils.ReadinessConditions;
+import com.globalnews.utils.Waits;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Keys;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+/**
+ * Country search combobox
+ */
+public class SearchBox extends BasePage {
+
+    SearchBox(WebDriver driver, WebDriverWait wait) {
+        super(driver, wait);
+    }
+
+    public WebElement input() {
+        return element(By.cssSelector(ReadinessConditions.SEARCH_INPUT));
+    }
+
+    /**
+     * Type a country name and wait until the input shows it
+     */
+    public SearchBox type(String country) {
+        input().sendKeys(country);
+        Waits.until(driver, ReadinessConditions.inputValueSettled(ReadinessConditions.SEARCH_INPUT), 0);
+        return this;
+    }
+
+    /**
+     * Search a country and wait for the news panel to open
+     */
+    public SearchBox open(String country) {
+        input().sendKeys(country, Keys.ENTER);
+        Waits.until(driver, ReadinessConditions.panelOpen(), 0);
+        return this;
+    }
+
+    public String getValue() {
+        return input().getAttribute("value");
+    }
+
+    public String getPlaceholder() {
+        return input().getAttribute("placeholder");
+    }
+}
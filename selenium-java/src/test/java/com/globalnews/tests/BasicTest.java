@@ -2,6 +2,9 @@ package com.globalnews.tests;
 
 import com.globalnews.utils.BaseTest;
 import com.globalnews.utils.DriverManager;
+import com.globalnews.utils.EventLog;
+import com.globalnews.utils.PageMetrics;
+import com.globalnews.utils.PerformanceBudget;
 import io.qameta.allure.*;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebElement;
@@ -24,13 +27,13 @@ public class BasicTest extends BaseTest {
     public void testSeleniumBasic() {
         // Step 1: Verify page title
         String pageTitle = DriverManager.getPageTitle();
-        System.out.println("📰 Page title: " + pageTitle);
+        EventLog.observed("Page title", pageTitle);
         Assert.assertTrue(pageTitle.contains("Interactive News Globe"), 
                          "Page title should contain 'Interactive News Globe'");
         
         // Step 2: Verify current URL
         String currentUrl = DriverManager.getCurrentUrl();
-        System.out.println("🌐 Current URL: " + currentUrl);
+        EventLog.observed("Current URL", currentUrl);
         Assert.assertEquals(getCleanUrl(currentUrl), getCleanUrl(BASE_URL),
                            "Current URL should match expected URL");
         
@@ -47,17 +50,16 @@ public class BasicTest extends BaseTest {
         Assert.assertNotNull(body, "Page body should be present");
         
         // Step 5: Log success
-        System.out.println("✅ Basic test completed successfully!");
-        System.out.println("🔍 Page is accessible and main elements are present");
+        EventLog.step("Basic test completed successfully!");
+        EventLog.step("Page is accessible and main elements are present");
     }
     
     @Test(groups = {"smoke", "basic"})
     @Story("Page Loading Performance")
     @Description("Test that the page loads within acceptable time limits")
     @Severity(SeverityLevel.NORMAL)
+    @PerformanceBudget(loadMillis = 10000, firstContentfulPaintMillis = 10000, commandCount = 25)
     public void testPageLoadTime() {
-        long startTime = System.currentTimeMillis();
-        
         // Navigate to page (already loaded in setup, but refresh for timing)
         DriverManager.getDriver().navigate().refresh();
         
@@ -66,11 +68,11 @@ public class BasicTest extends BaseTest {
             ExpectedConditions.presenceOfElementLocated(By.tagName("h1"))
         );
         
-        long endTime = System.currentTimeMillis();
-        long loadTime = endTime - startTime;
+        // Read the browser's own timing instead of measuring WebDriver round-trips
+        PageMetrics metrics = PageMetrics.collect().attachToReport();
         
-        System.out.println("⏱️ Page load time: " + loadTime + "ms");
-        Assert.assertTrue(loadTime < 10000, "Page should load within 10 seconds");
+        EventLog.observed("Page load metrics", metrics);
+        Assert.assertTrue(metrics.getLoadMillis() > 0, "Browser should report a completed page load");
     }
     
     @Test(groups = {"basic", "ui"})
@@ -89,6 +91,6 @@ public class BasicTest extends BaseTest {
         Assert.assertTrue(pageSource.contains("html"),
                          "Page should have proper HTML structure");
         
-        System.out.println("🌐 Browser compatibility test passed");
+        EventLog.step("Browser compatibility test passed");
     }
 }
\ No newline at end of file
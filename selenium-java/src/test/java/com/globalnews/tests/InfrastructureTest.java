@@ -2,6 +2,11 @@ package com.globalnews.tests;
 
 import com.globalnews.utils.BaseTest;
 import com.globalnews.utils.DriverManager;
+import com.globalnews.utils.EventLog;
+import com.globalnews.utils.PageMetrics;
+import com.globalnews.utils.PerformanceBudget;
+import com.globalnews.utils.ReadinessConditions;
+import com.globalnews.utils.Waits;
 import io.qameta.allure.*;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebElement;
@@ -28,17 +33,17 @@ public class InfrastructureTest extends BaseTest {
             // Verificar que podemos obtener el título de la página
             String pageTitle = DriverManager.getPageTitle();
             Assert.assertNotNull(pageTitle, "Page title should not be null");
-            System.out.println("✅ Page title: " + pageTitle);
+            EventLog.observed("Page title", pageTitle);
             
             // Verificar que podemos obtener la URL actual
             String currentUrl = DriverManager.getCurrentUrl();
             Assert.assertNotNull(currentUrl, "Current URL should not be null");
-            System.out.println("✅ Current URL: " + currentUrl);
+            EventLog.observed("Current URL", currentUrl);
             
-            System.out.println("🎉 WebDriver initialization test passed!");
+            EventLog.step("WebDriver initialization test passed!");
             
         } catch (Exception e) {
-            System.err.println("❌ WebDriver initialization test failed: " + e.getMessage());
+            EventLog.error("InfrastructureTest", "WebDriver initialization test failed", e.getMessage());
             Assert.fail("WebDriver initialization failed: " + e.getMessage());
         }
     }
@@ -51,16 +56,16 @@ public class InfrastructureTest extends BaseTest {
         try {
             // Verificar que podemos navegar a diferentes páginas
             DriverManager.getDriver().navigate().to("https://www.example.com");
-            Thread.sleep(1000);
+            Waits.until(ReadinessConditions.documentReady(), 1);
             
             String currentUrl = DriverManager.getCurrentUrl();
             Assert.assertTrue(currentUrl.contains("example.com"), 
                              "Should navigate to example.com");
             
-            System.out.println("✅ Navigation test passed: " + currentUrl);
+            EventLog.observed("Navigation test passed", currentUrl);
             
         } catch (Exception e) {
-            System.err.println("❌ Navigation test failed: " + e.getMessage());
+            EventLog.error("InfrastructureTest", "Navigation test failed", e.getMessage());
             Assert.fail("Navigation test failed: " + e.getMessage());
         }
     }
@@ -73,7 +78,7 @@ public class InfrastructureTest extends BaseTest {
         try {
             // Navegar a example.com que tiene elementos conocidos
             DriverManager.getDriver().navigate().to("https://www.example.com");
-            Thread.sleep(2000);
+            Waits.until(ReadinessConditions.documentReady(), 2);
             
             // Buscar un elemento básico
             WebElement heading = DriverManager.getDriver().findElement(By.tagName("h1"));
@@ -81,10 +86,10 @@ public class InfrastructureTest extends BaseTest {
             Assert.assertTrue(heading.isDisplayed(), "h1 element should be displayed");
             
             String headingText = heading.getText();
-            System.out.println("✅ Found heading: " + headingText);
+            EventLog.observed("Found heading", headingText);
             
         } catch (Exception e) {
-            System.err.println("❌ Element location test failed: " + e.getMessage());
+            EventLog.error("InfrastructureTest", "Element location test failed", e.getMessage());
             Assert.fail("Element location test failed: " + e.getMessage());
         }
     }
@@ -97,26 +102,26 @@ public class InfrastructureTest extends BaseTest {
         try {
             // Verificar que podemos cambiar el tamaño de la ventana
             DriverManager.setWindowSize(1024, 768);
-            Thread.sleep(500);
+            Waits.until(DriverManager.getDriver(), ReadinessConditions.layoutSettled(), 500);
             
             // Verificar que podemos navegar hacia atrás y adelante
             DriverManager.getDriver().navigate().to("https://www.example.com");
-            Thread.sleep(1000);
+            Waits.until(ReadinessConditions.documentReady(), 1);
             
             DriverManager.getDriver().navigate().to("https://httpbin.org/html");
-            Thread.sleep(1000);
+            Waits.until(ReadinessConditions.documentReady(), 1);
             
             DriverManager.getDriver().navigate().back();
-            Thread.sleep(1000);
+            Waits.until(ReadinessConditions.documentReady(), 1);
             
             String currentUrl = DriverManager.getCurrentUrl();
             Assert.assertTrue(currentUrl.contains("example.com"), 
                              "Should navigate back to example.com");
             
-            System.out.println("✅ Browser interaction test passed");
+            EventLog.step("Browser interaction test passed");
             
         } catch (Exception e) {
-            System.err.println("❌ Browser interaction test failed: " + e.getMessage());
+            EventLog.error("InfrastructureTest", "Browser interaction test failed", e.getMessage());
             Assert.fail("Browser interaction test failed: " + e.getMessage());
         }
     }
@@ -125,23 +130,20 @@ public class InfrastructureTest extends BaseTest {
     @Story("Performance Measurement")
     @Description("Test that performance measurement works")
     @Severity(SeverityLevel.MINOR)
+    @PerformanceBudget(loadMillis = 30000)
     public void testPerformanceMeasurement() {
         try {
-            long startTime = System.currentTimeMillis();
-            
-            // Navegar a una página y medir el tiempo
+            // Navegar a una página y leer los tiempos medidos por el navegador
             DriverManager.getDriver().navigate().to("https://httpbin.org/delay/1");
-            Thread.sleep(1000);
-            
-            long endTime = System.currentTimeMillis();
-            long loadTime = endTime - startTime;
+            PageMetrics metrics = PageMetrics.collect().attachToReport();
             
-            System.out.println("✅ Page load time: " + loadTime + "ms");
-            Assert.assertTrue(loadTime > 0, "Load time should be positive");
-            Assert.assertTrue(loadTime < 30000, "Load time should be reasonable");
+            EventLog.observed("Page load metrics", metrics);
+            Assert.assertTrue(metrics.getLoadMillis() > 0, "Load time should be positive");
+            Assert.assertTrue(metrics.getTtfbMillis() <= metrics.getLoadMillis(),
+                             "Time to first byte should not exceed load time");
             
         } catch (Exception e) {
-            System.err.println("❌ Performance test failed: " + e.getMessage());
+            EventLog.error("InfrastructureTest", "Performance test failed", e.getMessage());
             Assert.fail("Performance test failed: " + e.getMessage());
         }
     }
@@ -1,7 +1,12 @@
 package com.globalnews.tests;
 
+import com.globalnews.pages.GlobePage;
 import com.globalnews.utils.BaseTest;
+import com.globalnews.utils.DomSnapshot;
 import com.globalnews.utils.DriverManager;
+import com.globalnews.utils.EventLog;
+import com.globalnews.utils.ReadinessConditions;
+import com.globalnews.utils.ResponsiveMatrix;
 import io.qameta.allure.*;
 import org.openqa.selenium.By;
 import org.openqa.selenium.TimeoutException;
@@ -23,20 +28,19 @@ public class PageLoadElementsTest extends BaseTest {
     @Description("Test that the main page loads with all essential elements")
     @Severity(SeverityLevel.BLOCKER)
     public void testPageLoadsSuccessfully() {
+        GlobePage page = new GlobePage();
         // Verify page title contains expected text
         String pageTitle = DriverManager.getPageTitle();
         Assert.assertTrue(pageTitle.contains("Interactive News Globe"),
                          "Page title should contain 'Interactive News Globe'");
         
         // Verify main heading is present and visible (it's an h1 element)
-        WebElement mainHeading = DriverManager.getWait().until(
-            ExpectedConditions.presenceOfElementLocated(By.tagName("h1"))
-        );
+        WebElement mainHeading = page.heading();
         Assert.assertTrue(mainHeading.isDisplayed(), "Main heading should be visible");
         Assert.assertTrue(mainHeading.getText().contains("Interactive News Globe"),
                          "Main heading should contain 'Interactive News Globe'");
         
-        System.out.println("✅ Page loads successfully with main elements");
+        EventLog.step("Page loads successfully with main elements");
     }
     
     @Test(groups = {"smoke", "page-load"})
@@ -44,6 +48,7 @@ public class PageLoadElementsTest extends BaseTest {
     @Description("Test that loading state appears during page initialization")
     @Severity(SeverityLevel.NORMAL)
     public void testLoadingStateAppears() {
+        GlobePage page = new GlobePage();
         // Refresh page to catch loading state
         DriverManager.getDriver().navigate().refresh();
         
@@ -55,15 +60,13 @@ public class PageLoadElementsTest extends BaseTest {
             Assert.assertNotNull(loadingElement, "Loading element should be present");
         } catch (TimeoutException e) {
             // Loading might be too fast to catch, which is also valid
-            System.out.println("⚡ Loading state was too fast to capture (acceptable)");
+            EventLog.step("Loading state was too fast to capture (acceptable)");
         }
         
         // Ensure page is fully loaded after
-        DriverManager.getWait().until(
-            ExpectedConditions.presenceOfElementLocated(By.tagName("h1"))
-        );
+        page.waitForHeading();
         
-        System.out.println("✅ Loading state test completed");
+        EventLog.step("Loading state test completed");
     }
     
     @Test(groups = {"regression", "responsive"})
@@ -82,7 +85,7 @@ public class PageLoadElementsTest extends BaseTest {
         Assert.assertTrue(mainHeading.getText().contains("Interactive News Globe"),
                          "Main heading should contain correct text");
         
-        System.out.println("🖥️ Desktop responsiveness test passed");
+        EventLog.step("Desktop responsiveness test passed");
     }
     
     @Test(groups = {"regression", "responsive"})
@@ -90,18 +93,18 @@ public class PageLoadElementsTest extends BaseTest {
     @Description("Test page behavior at mobile resolution")
     @Severity(SeverityLevel.NORMAL)
     public void testPageResponsivenessMobile() {
-        // Set mobile resolution
-        DriverManager.setWindowSize(375, 667);
+        // Emulated phone: mobile viewport, device scale factor and touch
+        DomSnapshot mobile = ResponsiveMatrix.of("mobile")
+                .snapshot(BASE_URL, ReadinessConditions.appReady(), DomSnapshot.query("h1").text())
+                .get("mobile");
         
         // Verify main elements are still accessible on mobile (check h1)
-        WebElement mainHeading = DriverManager.getWait().until(
-            ExpectedConditions.presenceOfElementLocated(By.tagName("h1"))
-        );
-        Assert.assertTrue(mainHeading.isDisplayed(), "Main heading should be visible on mobile");
+        DomSnapshot.Element mainHeading = mobile.get("h1");
+        Assert.assertTrue(mainHeading.isVisible(), "Main heading should be visible on mobile");
         Assert.assertTrue(mainHeading.getText().contains("Interactive News Globe"),
                          "Main heading should contain correct text");
         
-        System.out.println("📱 Mobile responsiveness test passed");
+        EventLog.step("Mobile responsiveness test passed");
     }
     
     @Test(groups = {"regression", "structure"})
@@ -109,19 +112,16 @@ public class PageLoadElementsTest extends BaseTest {
     @Description("Test that page has proper content structure")
     @Severity(SeverityLevel.NORMAL)
     public void testPageContentStructure() {
+        GlobePage page = new GlobePage();
         // Wait for page to fully load
-        DriverManager.getWait().until(
-            ExpectedConditions.presenceOfElementLocated(By.tagName("body"))
-        );
+        page.waitUntilLoaded();
         
         // Verify essential page structure elements exist
-        WebElement body = DriverManager.getDriver().findElement(By.tagName("body"));
+        WebElement body = page.body();
         Assert.assertNotNull(body, "Page body should be present");
         
         // Check for main heading
-        WebElement mainHeading = DriverManager.getWait().until(
-            ExpectedConditions.presenceOfElementLocated(By.tagName("h1"))
-        );
+        WebElement mainHeading = page.heading();
         Assert.assertTrue(mainHeading.isDisplayed(), "Main heading should be visible");
         Assert.assertTrue(mainHeading.getText().contains("Interactive News Globe"),
                          "Main heading should contain correct text");
@@ -132,6 +132,6 @@ public class PageLoadElementsTest extends BaseTest {
         );
         Assert.assertTrue(authorElement.isDisplayed(), "Author information should be visible");
         
-        System.out.println("🏗️ Page structure test passed");
+        EventLog.step("Page structure test passed");
     }
 }
\ No newline at end of file
@@ -1,5 +1,10 @@
 package com.globalnews.tests;
 
+import com.globalnews.utils.DriverBinaries;
+import com.globalnews.utils.EventLog;
+import com.globalnews.utils.NetworkCache;
+import com.globalnews.utils.PageMetrics;
+import com.globalnews.utils.PerformanceBudget;
 import org.testng.Assert;
 import org.testng.annotations.*;
 import org.openqa.selenium.WebDriver;
@@ -8,7 +13,8 @@ import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.openqa.selenium.By;
 import org.openqa.selenium.Dimension;
-import io.github.bonigarcia.wdm.WebDriverManager;
+import org.openqa.selenium.devtools.NetworkInterceptor;
+import org.openqa.selenium.remote.http.Filter;
 import java.time.Duration;
 
 /**
@@ -22,11 +28,11 @@ public class SeleniumJavaTestSuite {
     
     @BeforeMethod
     public void setUp() {
-        System.out.println("=== Iniciando configuración de WebDriver ===");
+        EventLog.step("Iniciando configuración de WebDriver");
         
         try {
-            // Configurar WebDriverManager para Chrome
-            WebDriverManager.chromedriver().setup();
+            // Resolver chromedriver (una vez por JVM, ver DriverBinaries)
+            DriverBinaries.chrome();
             
             // Configurar opciones de Chrome
             ChromeOptions options = new ChromeOptions();
@@ -35,19 +41,26 @@ public class SeleniumJavaTestSuite {
             options.addArguments("--disable-dev-shm-usage");
             options.addArguments("--remote-allow-origins=*");
             options.addArguments("--disable-web-security");
+            NetworkCache.configure(options);
             
             // Crear instancia del WebDriver
             driver = new ChromeDriver(options);
+            
+            // Grabar o reproducir el tráfico según -Dnetwork.mode
+            Filter networkFilter = NetworkCache.filter();
+            if (networkFilter != null) {
+                new NetworkInterceptor(driver, networkFilter);
+            }
             wait = new WebDriverWait(driver, Duration.ofSeconds(10));
             
             // Configurar ventana del navegador
             driver.manage().window().setSize(new Dimension(1920, 1080));
             driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(10));
             
-            System.out.println("✅ WebDriver configurado exitosamente");
+            EventLog.step("WebDriver configurado exitosamente");
             
         } catch (Exception e) {
-            System.err.println("❌ Error al configurar WebDriver: " + e.getMessage());
+            EventLog.error("SeleniumJavaTestSuite", "Error al configurar WebDriver", e.getMessage());
             e.printStackTrace();
             throw new RuntimeException("Fallo en configuración de WebDriver", e);
         }
@@ -58,26 +71,26 @@ public class SeleniumJavaTestSuite {
         if (driver != null) {
             try {
                 driver.quit();
-                System.out.println("✅ WebDriver cerrado exitosamente");
+                EventLog.step("WebDriver cerrado exitosamente");
             } catch (Exception e) {
-                System.err.println("⚠️ Error al cerrar WebDriver: " + e.getMessage());
+                EventLog.warning("SeleniumJavaTestSuite", "Error al cerrar WebDriver", e.getMessage());
             }
         }
     }
     
     @Test(groups = {"smoke", "infrastructure"}, priority = 1)
     public void testWebDriverInitialization() {
-        System.out.println("🧪 Test: Inicialización de WebDriver");
+        EventLog.step("Test: Inicialización de WebDriver");
         
         Assert.assertNotNull(driver, "WebDriver debe estar inicializado");
         Assert.assertNotNull(wait, "WebDriverWait debe estar inicializado");
         
-        System.out.println("✅ WebDriver inicializado correctamente");
+        EventLog.step("WebDriver inicializado correctamente");
     }
     
     @Test(groups = {"smoke", "infrastructure"}, priority = 2)
     public void testNavigationToExampleSite() {
-        System.out.println("🧪 Test: Navegación a sitio de ejemplo");
+        EventLog.step("Test: Navegación a sitio de ejemplo");
         
         String testUrl = "https://example.com";
         
@@ -92,18 +105,18 @@ public class SeleniumJavaTestSuite {
             Assert.assertNotNull(pageTitle, "El título de la página no debe ser nulo");
             Assert.assertFalse(pageTitle.isEmpty(), "El título de la página no debe estar vacío");
             
-            System.out.println("✅ Navegación exitosa - URL: " + currentUrl);
-            System.out.println("✅ Título de página: " + pageTitle);
+            EventLog.observed("Navegación exitosa - URL", currentUrl);
+            EventLog.observed("Título de página", pageTitle);
             
         } catch (Exception e) {
-            System.err.println("❌ Error en navegación: " + e.getMessage());
+            EventLog.error("SeleniumJavaTestSuite", "Error en navegación", e.getMessage());
             throw e;
         }
     }
     
     @Test(groups = {"smoke", "infrastructure"}, priority = 3)
     public void testElementLocation() {
-        System.out.println("🧪 Test: Localización de elementos");
+        EventLog.step("Test: Localización de elementos");
         
         try {
             driver.get("https://example.com");
@@ -116,17 +129,17 @@ public class SeleniumJavaTestSuite {
             Assert.assertNotNull(h1Text, "Texto del H1 no debe ser nulo");
             Assert.assertFalse(h1Text.isEmpty(), "Texto del H1 no debe estar vacío");
             
-            System.out.println("✅ Elemento H1 encontrado: " + h1Text);
+            EventLog.observed("Elemento H1 encontrado", h1Text);
             
         } catch (Exception e) {
-            System.err.println("❌ Error en localización de elementos: " + e.getMessage());
+            EventLog.error("SeleniumJavaTestSuite", "Error en localización de elementos", e.getMessage());
             throw e;
         }
     }
     
     @Test(groups = {"smoke", "infrastructure"}, priority = 4)
     public void testBrowserInteractions() {
-        System.out.println("🧪 Test: Interacciones del navegador");
+        EventLog.step("Test: Interacciones del navegador");
         
         try {
             // Navegar a ejemplo
@@ -145,45 +158,39 @@ public class SeleniumJavaTestSuite {
             Assert.assertTrue(secondUrl.contains("httpbin.org"), "Segunda URL debe ser httpbin.org");
             Assert.assertTrue(backUrl.contains("example.com"), "URL tras navegación atrás debe ser example.com");
             
-            System.out.println("✅ Navegación exitosa entre páginas");
-            System.out.println("✅ Navegación atrás funcional");
+            EventLog.step("Navegación exitosa entre páginas");
+            EventLog.step("Navegación atrás funcional");
             
         } catch (Exception e) {
-            System.err.println("❌ Error en interacciones: " + e.getMessage());
+            EventLog.error("SeleniumJavaTestSuite", "Error en interacciones", e.getMessage());
             throw e;
         }
     }
     
     @Test(groups = {"performance", "infrastructure"}, priority = 5)
+    @PerformanceBudget(loadMillis = 10000)
     public void testPageLoadPerformance() {
-        System.out.println("🧪 Test: Rendimiento de carga de página");
+        EventLog.step("Test: Rendimiento de carga de página");
         
         try {
-            long startTime = System.currentTimeMillis();
-            
             driver.get("https://example.com");
             
-            // Esperar que la página cargue completamente
-            wait.until(driver -> ((org.openqa.selenium.JavascriptExecutor) driver)
-                .executeScript("return document.readyState").equals("complete"));
-            
-            long endTime = System.currentTimeMillis();
-            long loadTime = endTime - startTime;
-            
-            Assert.assertTrue(loadTime < 10000, 
-                "La página debe cargar en menos de 10 segundos. Tiempo actual: " + loadTime + "ms");
+            // Tiempos de Navigation/Paint Timing medidos por el propio navegador
+            PageMetrics metrics = PageMetrics.collect(driver).attachToReport();
+            double loadTime = metrics.getLoadMillis();
             
-            System.out.println("✅ Página cargada en: " + loadTime + "ms");
+            EventLog.observed("Página cargada en (ms)", loadTime);
+            EventLog.observed("Métricas", metrics);
             
         } catch (Exception e) {
-            System.err.println("❌ Error en test de rendimiento: " + e.getMessage());
+            EventLog.error("SeleniumJavaTestSuite", "Error en test de rendimiento", e.getMessage());
             throw e;
         }
     }
     
     @Test(groups = {"performance", "infrastructure"}, priority = 6)
     public void testJavaScriptExecution() {
-        System.out.println("🧪 Test: Ejecución de JavaScript");
+        EventLog.step("Test: Ejecución de JavaScript");
         
         try {
             driver.get("https://example.com");
@@ -198,18 +205,18 @@ public class SeleniumJavaTestSuite {
             Assert.assertNotNull(pageTitle, "Título obtenido via JavaScript no debe ser nulo");
             Assert.assertNotNull(pageHeight, "Altura de página no debe ser nula");
             
-            System.out.println("✅ JavaScript ejecutado - Título: " + pageTitle);
-            System.out.println("✅ JavaScript ejecutado - Altura: " + pageHeight);
+            EventLog.observed("JavaScript ejecutado - Título", pageTitle);
+            EventLog.observed("JavaScript ejecutado - Altura", pageHeight);
             
         } catch (Exception e) {
-            System.err.println("❌ Error en ejecución JavaScript: " + e.getMessage());
+            EventLog.error("SeleniumJavaTestSuite", "Error en ejecución JavaScript", e.getMessage());
             throw e;
         }
     }
     
     @Test(groups = {"comprehensive"}, priority = 7)
     public void testSeleniumInfrastructureComplete() {
-        System.out.println("🧪 Test: Infraestructura Selenium Completa");
+        EventLog.step("Test: Infraestructura Selenium Completa");
         
         try {
             // Test completo de funcionalidad
@@ -234,13 +241,13 @@ public class SeleniumJavaTestSuite {
             
             Assert.assertTrue(isDocumentReady, "Documento debe estar completamente cargado");
             
-            System.out.println("✅ Test completo de infraestructura exitoso");
-            System.out.println("✅ Título: " + title);
-            System.out.println("✅ URL: " + url);
-            System.out.println("✅ Documento listo: " + isDocumentReady);
+            EventLog.step("Test completo de infraestructura exitoso");
+            EventLog.observed("Título", title);
+            EventLog.observed("URL", url);
+            EventLog.observed("Documento listo", isDocumentReady);
             
         } catch (Exception e) {
-            System.err.println("❌ Error en test completo: " + e.getMessage());
+            EventLog.error("SeleniumJavaTestSuite", "Error en test completo", e.getMessage());
             throw e;
         }
     }
@@ -0,0 +1,61 @@
+package com.globalnews.utils;
+
+import org.testng.IAlterSuiteListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.util.List;
+
+/**
+ * Runs the suite at method level on a thread pool sized to the machine and
+ * lets {@link ConcurrencyController} decide how many browsers run at once.
+ * The parallel settings in testng.xml are kept when -Dscheduler.adaptive=false.
+ */
+public class AdaptiveSchedulerListener implements IAlterSuiteListener, ISuiteListener {
+
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("scheduler.adaptive", "true"));
+
+    private ConcurrencyController controller;
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        if (!ENABLED) {
+            return;
+        }
+        int threads = ConcurrencyController.getMaxThreads();
+        for (XmlSuite suite : suites) {
+            suite.setParallel(XmlSuite.ParallelMode.METHODS);
+            suite.setThreadCount(threads);
+            for (XmlTest test : suite.getTests()) {
+                test.setParallel(XmlSuite.ParallelMode.METHODS);
+                test.setThreadCount(threads);
+            }
+        }
+    }
+
+    @Override
+    public void onStart(ISuite suite) {
+        if (!ENABLED) {
+            return;
+        }
+        controller = new ConcurrencyController(DriverManager.getPool());
+        controller.start();
+        System.out.println("🧮 Adaptive scheduler (" + suite.getName() + "): " + controller.getLimit()
+                + " concurrent browsers, up to " + ConcurrencyController.getMaxThreads() + " threads");
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (controller == null) {
+            return;
+        }
+        controller.stop();
+        System.out.println("🧮 Adaptive scheduler (" + suite.getName() + "): final limit " + controller.getLimit()
+                + ", browser ~" + controller.getBrowserRssBytes() / (1024 * 1024) + "MB");
+        for (String change : controller.getHistory()) {
+            System.out.println("   " + change);
+        }
+    }
+}
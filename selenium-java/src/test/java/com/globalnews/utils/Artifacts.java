@@ -0,0 +1,229 @@
+package com.globalnews.utils;
+
+import io.qameta.allure.Allure;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Failure artifacts (screenshots, page source) written off the test thread.
+ * The test thread only captures raw bytes and reserves the Allure attachment;
+ * a background writer stores each artifact once per content hash under
+ * target/artifacts and links it into the Allure results as the attachment file.
+ * The queue is bounded by count and bytes: a full queue blocks the test for at
+ * most artifacts.blockMillis, after which the artifact is dropped and counted.
+ * The queue slot is taken before the attachment is reserved, so a dropped artifact
+ * never leaves a dangling link in the report.
+ */
+public final class Artifacts {
+
+    private static final Path STORE = Paths.get(System.getProperty("artifacts.dir", "target/artifacts"));
+    private static final Path ALLURE_RESULTS = Paths.get(System.getProperty("allure.results.directory", "allure-results"));
+    private static final int QUEUE_CAPACITY = Integer.getInteger("artifacts.queue", 16);
+    private static final long MAX_PENDING_BYTES = Integer.getInteger("artifacts.maxPendingMb", 64) * 1024L * 1024L;
+    private static final long BLOCK_MILLIS = Integer.getInteger("artifacts.blockMillis", 2000);
+
+    /**
+     * An artifact waiting to be written
+     */
+    private static class Job {
+        final String attachmentSource;
+        final String extension;
+        final byte[] content;
+
+        Job(String attachmentSource, String extension, byte[] content) {
+            this.attachmentSource = attachmentSource;
+            this.extension = extension;
+            this.content = content;
+        }
+    }
+
+    private static final Job STOP = new Job(null, null, new byte[0]);
+    private static final BlockingQueue<Job> QUEUE = new LinkedBlockingQueue<>();
+    private static final Semaphore SLOTS = new Semaphore(Math.max(1, QUEUE_CAPACITY));
+    private static final AtomicLong PENDING_BYTES = new AtomicLong();
+
+    // Statistics
+    private static final AtomicLong SUBMITTED = new AtomicLong();
+    private static final AtomicLong STORED = new AtomicLong();
+    private static final AtomicLong DEDUPLICATED = new AtomicLong();
+    private static final AtomicLong DROPPED = new AtomicLong();
+    private static final AtomicLong FAILED = new AtomicLong();
+    private static final AtomicLong BYTES_STORED = new AtomicLong();
+    private static final AtomicLong BYTES_SAVED = new AtomicLong();
+
+    private static final Thread WRITER = startWriter();
+
+    private Artifacts() {
+    }
+
+    /**
+     * Attach a screenshot of the browser to the running test
+     */
+    public static boolean screenshot(WebDriver driver, String name) {
+        long start = Timeline.start();
+        byte[] png = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+        Timeline.end("screenshot", Timeline.ARTIFACT, start);
+        return attach(name, "image/png", "png", png);
+    }
+
+    /**
+     * Attach the current DOM of the browser to the running test
+     */
+    public static boolean pageSource(WebDriver driver, String name) {
+        return attach(name, "text/html", "html", driver.getPageSource().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reserve an Allure attachment for the running test and queue its content.
+     * Must be called on the test thread. Returns false when the artifact was dropped.
+     */
+    public static boolean attach(String name, String type, String extension, byte[] content) {
+        SUBMITTED.incrementAndGet();
+        long deadline = System.currentTimeMillis() + BLOCK_MILLIS;
+        if (!reserve(content.length, deadline)) {
+            DROPPED.incrementAndGet();
+            return false;
+        }
+        boolean slot = false;
+        try {
+            slot = SLOTS.tryAcquire(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!slot) {
+            PENDING_BYTES.addAndGet(-content.length);
+            DROPPED.incrementAndGet();
+            return false;
+        }
+
+        // Only link the attachment once its content is sure to be written
+        String source = Allure.getLifecycle().prepareAttachment(name, type, "." + extension);
+        QUEUE.add(new Job(source, extension, content));
+        return true;
+    }
+
+    /**
+     * Wait until every queued artifact is written
+     */
+    public static void flush(long timeoutMillis) {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while ((!QUEUE.isEmpty() || PENDING_BYTES.get() > 0) && System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(Waits.POLL_INTERVAL.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    public static long getDropped() {
+        return DROPPED.get();
+    }
+
+    public static String summary() {
+        return String.format("submitted=%d stored=%d deduplicated=%d dropped=%d failed=%d written=%.1fMB saved=%.1fMB",
+                SUBMITTED.get(), STORED.get(), DEDUPLICATED.get(), DROPPED.get(), FAILED.get(),
+                BYTES_STORED.get() / 1048576.0, BYTES_SAVED.get() / 1048576.0);
+    }
+
+    /**
+     * Claim room for the bytes in the pending budget, waiting until the deadline
+     */
+    private static boolean reserve(long bytes, long deadline) {
+        while (true) {
+            long pending = PENDING_BYTES.get();
+            // A single artifact larger than the budget is admitted when nothing else is pending
+            if ((pending == 0 || pending + bytes <= MAX_PENDING_BYTES)
+                    && PENDING_BYTES.compareAndSet(pending, pending + bytes)) {
+                return true;
+            }
+            if (System.currentTimeMillis() >= deadline) {
+                return false;
+            }
+            try {
+                Thread.sleep(Waits.POLL_INTERVAL.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+
+    private static Thread startWriter() {
+        Thread writer = new Thread(Artifacts::drain, "artifact-writer");
+        writer.setDaemon(true);
+        writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            QUEUE.offer(STOP);
+            flush(BLOCK_MILLIS);
+        }, "artifact-writer-shutdown"));
+        return writer;
+    }
+
+    private static void drain() {
+        while (true) {
+            Job job;
+            try {
+                job = QUEUE.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (job == STOP) {
+                return;
+            }
+            SLOTS.release();
+            try {
+                write(job);
+            } catch (IOException | RuntimeException e) {
+                FAILED.incrementAndGet();
+                EventLog.warning("Artifacts", "Failed to write artifact " + job.attachmentSource, e.getMessage());
+            } finally {
+                PENDING_BYTES.addAndGet(-job.content.length);
+            }
+        }
+    }
+
+    /**
+     * Store the content under its hash and expose it to Allure under the reserved name
+     */
+    private static void write(Job job) throws IOException {
+        Path stored = STORE.resolve(NetworkArchive.sha256(job.content) + "." + job.extension);
+        if (Files.exists(stored)) {
+            DEDUPLICATED.incrementAndGet();
+            BYTES_SAVED.addAndGet(job.content.length);
+        } else {
+            Files.createDirectories(STORE);
+            Path temp = Files.createTempFile(STORE, "artifact", ".tmp");
+            Files.write(temp, job.content);
+            Files.move(temp, stored, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            STORED.incrementAndGet();
+            BYTES_STORED.addAndGet(job.content.length);
+        }
+
+        Files.createDirectories(ALLURE_RESULTS);
+        Path attachment = ALLURE_RESULTS.resolve(job.attachmentSource);
+        try {
+            Files.createLink(attachment, stored.toAbsolutePath());
+        } catch (FileAlreadyExistsException e) {
+            // Already written
+        } catch (IOException | UnsupportedOperationException e) {
+            // Different file system or no hard links: fall back to a copy
+            Files.copy(stored, attachment, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
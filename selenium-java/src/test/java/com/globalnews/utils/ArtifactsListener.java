@@ -0,0 +1,22 @@
+package com.globalnews.utils;
+
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+/**
+ * Suite listener that waits for queued failure artifacts and reports the writer statistics
+ */
+public class ArtifactsListener implements ISuiteListener {
+
+    private static final long FLUSH_TIMEOUT_MILLIS = 30_000;
+
+    @Override
+    public void onFinish(ISuite suite) {
+        Artifacts.flush(FLUSH_TIMEOUT_MILLIS);
+        System.out.println("🗂️ Artifacts (" + suite.getName() + "): " + Artifacts.summary());
+        if (Artifacts.getDropped() > 0) {
+            EventLog.warning("ArtifactsListener", Artifacts.getDropped() + " artifacts were dropped",
+                    "the writer fell behind");
+        }
+    }
+}
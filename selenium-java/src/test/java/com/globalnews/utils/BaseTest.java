@@ -1,64 +1,97 @@
 package com.globalnews.utils;
 
-import io.qameta.allure.Attachment;
 import org.testng.ITestListener;
 import org.testng.ITestResult;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Parameters;
 
+import java.lang.reflect.Method;
+
 /**
  * Base Test Class for Global News Tests
  * Provides common setup and teardown functionality
  */
 public class BaseTest implements ITestListener {
     
-    protected static final String BASE_URL = "https://global-news-proyect-gmni.vercel.app/";
+    protected static final String BASE_URL = System.getProperty("base.url", "https://global-news-proyect-gmni.vercel.app/");
     
     @BeforeMethod
     @Parameters({"browser", "headless"})
-    public void setUp(String browser, String headless) {
+    public void setUp(String browser, String headless, Method testMethod) {
         // Default values if parameters not provided
         browser = (browser != null) ? browser : "chrome";
         boolean isHeadless = Boolean.parseBoolean(headless);
         
-        System.out.println("🚀 Initializing " + browser + " driver (headless: " + isHeadless + ")");
-        DriverManager.initializeDriver(browser, isHeadless);
+        EventLog.bindTest(testMethod.getDeclaringClass().getSimpleName() + "#" + testMethod.getName());
+        CommandLatency.startTest();
+        DomSnapshot.startTest();
+        EventLog.event(EventLog.Type.DRIVER_ACQUIRED, browser, isHeadless ? "headless" : "headed");
+        DriverManager.acquireDriver(browser, isHeadless);
+        ProcessSampler.startTest(testMethod.getDeclaringClass().getSimpleName() + "#" + testMethod.getName(),
+                DriverManager.getDriver());
         
-        System.out.println("🌐 Navigating to: " + BASE_URL);
+        // A pre-spawned browser may already be on the app (-Dprespawn.warmUrl)
+        if (DriverManager.getPrespawner().getWarmUrl() != null
+                && getCleanUrl(DriverManager.getCurrentUrl()).equals(getCleanUrl(BASE_URL))) {
+            EventLog.event(EventLog.Type.NAVIGATED, BASE_URL, "pre-loaded");
+            return;
+        }
+        EventLog.event(EventLog.Type.NAVIGATED, BASE_URL);
         DriverManager.navigateToUrl(BASE_URL);
     }
     
-    @AfterMethod
+    @AfterMethod(alwaysRun = true)
     public void tearDown(ITestResult result) {
         if (result.getStatus() == ITestResult.FAILURE) {
-            System.out.println("❌ Test failed: " + result.getName());
+            EventLog.event(EventLog.Type.TEST_FAILED, result.getName());
             attachScreenshot();
         } else if (result.getStatus() == ITestResult.SUCCESS) {
-            System.out.println("✅ Test passed: " + result.getName());
+            EventLog.event(EventLog.Type.TEST_PASSED, result.getName());
         }
         
-        System.out.println("🔄 Closing browser");
-        DriverManager.quitDriver();
+        CommandLatency.attachTestBreakdown();
+        ProcessSampler.finishTest();
+        if (DomSnapshot.getTestSavedRoundTrips() > 0) {
+            EventLog.observed("Round-trips saved by DOM snapshots", DomSnapshot.getTestSavedRoundTrips());
+        }
+        boolean failed = result.getStatus() == ITestResult.FAILURE;
+        EventLog.event(EventLog.Type.DRIVER_RELEASED, failed ? "recycle" : "reuse");
+        DriverManager.releaseDriver(failed);
+        EventLog.clearTest();
     }
     
-    @Attachment(value = "Screenshot", type = "image/png")
-    public byte[] attachScreenshot() {
+    /**
+     * Queue a screenshot and the page source of the failed test for the report
+     * The files are written in the background, see {@link Artifacts}
+     */
+    public void attachScreenshot() {
         try {
-            String base64Screenshot = DriverManager.takeScreenshot();
-            return java.util.Base64.getDecoder().decode(base64Screenshot);
+            Artifacts.screenshot(DriverManager.getDriver(), "Screenshot");
+            Artifacts.pageSource(DriverManager.getDriver(), "Page source");
         } catch (Exception e) {
-            System.err.println("Failed to take screenshot: " + e.getMessage());
-            return new byte[0];
+            EventLog.warning("BaseTest", "Failed to take screenshot", e.getMessage());
         }
     }
     
+    /**
+     * Wait until a readiness condition holds
+     * @param condition Condition to poll, see {@link ReadinessConditions}
+     * @param replacedSeconds Fixed sleep this wait replaces, used for the time-saved report
+     */
+    protected void waitUntil(WaitCondition condition, int replacedSeconds) {
+        Waits.until(condition, replacedSeconds);
+    }
+    
     /**
      * Wait for a specified amount of time
+     * Prefer {@link #waitUntil} so the test continues as soon as the page is ready
      */
     protected void waitFor(int seconds) {
+        long start = System.nanoTime();
         try {
             Thread.sleep(seconds * 1000L);
+            CommandLatency.record("sleep", System.nanoTime() - start);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
         }
@@ -0,0 +1,195 @@
+package com.globalnews.utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.Connection;
+import org.openqa.selenium.devtools.SeleniumCdpConnection;
+import org.openqa.selenium.json.Json;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-test browser contexts inside a pooled Chrome (-Ddriver.contexts=true).
+ * Each leased browser gets a new DevTools browser context (Target.createBrowserContext)
+ * with one tab, and the test runs in that tab. A context has its own cookies,
+ * localStorage, sessionStorage and HTTP cache, and is disposed with everything in it
+ * when the browser is released, so no state reaches the next test. Creating one takes
+ * milliseconds where launching a browser takes seconds.
+ * The page metrics probe and the DevTools network filters (stubs, record/replay) are
+ * moved to the context's tab, and the filters back to the browser's first tab when the
+ * context is disposed. Other browsers keep using the pooled browser as is.
+ * Chrome only accepts the Target commands on the browser's own DevTools session, not on
+ * a tab's, so they go over a browser-level connection kept per browser.
+ * A browser that cannot open a context is recycled rather than running a test without
+ * isolation.
+ */
+public final class BrowserContexts {
+
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("driver.contexts", "false"));
+
+    private static final Duration COMMAND_TIMEOUT = Duration.ofSeconds(10);
+
+    private static final Map<WebDriver, Context> OPEN = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final Map<WebDriver, Connection> CONNECTIONS = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final AtomicLong CREATED = new AtomicLong();
+    private static final AtomicLong FAILED = new AtomicLong();
+    private static final LongAdder CREATE_NANOS = new LongAdder();
+
+    private BrowserContexts() {
+    }
+
+    /**
+     * Browser context a test runs in, and the tab to return to afterwards
+     */
+    private static class Context {
+        final String contextId;
+        final String mainWindow;
+
+        Context(String contextId, String mainWindow) {
+            this.contextId = contextId;
+            this.mainWindow = mainWindow;
+        }
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Open a fresh context in the browser and switch to its tab
+     * @return false if no context could be opened; the test must not run in this browser
+     */
+    static boolean open(WebDriver decorated) {
+        if (!(DriverManager.unwrap(decorated) instanceof ChromeDriver)) {
+            return true;
+        }
+        ChromeDriver chrome = (ChromeDriver) DriverManager.unwrap(decorated);
+        long start = System.nanoTime();
+        String mainWindow = decorated.getWindowHandle();
+        String contextId = null;
+        try {
+            contextId = createContext(chrome);
+            String tab = openTab(chrome, contextId);
+            decorated.switchTo().window(tab);
+
+            PageMetrics.installProbe(chrome);
+            DriverManager.moveNetworkFilters(chrome, tab);
+            OPEN.put(chrome, new Context(contextId, mainWindow));
+
+            CREATE_NANOS.add(System.nanoTime() - start);
+            CREATED.incrementAndGet();
+            return true;
+        } catch (Exception e) {
+            FAILED.incrementAndGet();
+            EventLog.warning("BrowserContexts", "Could not create a browser context, recycling the browser",
+                    e.getMessage());
+            if (contextId != null) {
+                dispose(decorated, chrome, contextId, mainWindow);
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Dispose the browser's context, if it has one, and switch back to its first tab
+     * @return false if the browser could not be restored and should be recycled
+     */
+    static boolean close(WebDriver decorated) {
+        ChromeDriver chrome = DriverManager.unwrap(decorated) instanceof ChromeDriver
+                ? (ChromeDriver) DriverManager.unwrap(decorated) : null;
+        Context context = chrome != null ? OPEN.remove(chrome) : null;
+        if (context == null) {
+            return true;
+        }
+        return dispose(decorated, chrome, context.contextId, context.mainWindow);
+    }
+
+    private static boolean dispose(WebDriver decorated, ChromeDriver chrome, String contextId, String mainWindow) {
+        try {
+            // Send the command from a tab that survives it
+            decorated.switchTo().window(mainWindow);
+            // The filters go back to the main tab: if the next lease cannot get a context
+            // its test runs there and still needs its stubs and record/replay filter
+            DriverManager.moveNetworkFilters(chrome, mainWindow);
+            disposeContext(chrome, contextId);
+            return true;
+        } catch (Exception e) {
+            EventLog.warning("BrowserContexts", "Failed to dispose browser context " + contextId, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Create an empty browser context: its own cookies, storage and HTTP cache
+     * @return The context id
+     */
+    static String createContext(ChromeDriver chrome) {
+        return (String) send(chrome, "Target.createBrowserContext", Map.of()).get("browserContextId");
+    }
+
+    /**
+     * Open a blank tab in a browser context
+     * @return Its window handle, which is the tab's DevTools target id
+     */
+    static String openTab(ChromeDriver chrome, String contextId) {
+        Map<String, Object> target = new HashMap<>();
+        target.put("url", "about:blank");
+        target.put("browserContextId", contextId);
+        return (String) send(chrome, "Target.createTarget", target).get("targetId");
+    }
+
+    /**
+     * Dispose a browser context; closes its tabs, including any a test opened itself.
+     * Send it from a tab outside the context.
+     */
+    static void disposeContext(ChromeDriver chrome, String contextId) {
+        send(chrome, "Target.disposeBrowserContext", Map.of("browserContextId", contextId));
+    }
+
+    /**
+     * Close the browser-level DevTools connection of a browser being quit
+     */
+    static void release(WebDriver driver) {
+        WebDriver unwrapped = DriverManager.unwrap(driver);
+        OPEN.remove(unwrapped);
+        Connection connection = CONNECTIONS.remove(unwrapped);
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (Exception e) {
+                EventLog.warning("BrowserContexts", "Error while closing DevTools connection", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Send a command on the browser's own DevTools session (no tab session id)
+     */
+    private static Map<String, Object> send(ChromeDriver chrome, String method, Map<String, Object> params) {
+        Connection connection = CONNECTIONS.computeIfAbsent(chrome, driver -> SeleniumCdpConnection.create(driver)
+                .orElseThrow(() -> new IllegalStateException("Browser exposes no DevTools endpoint")));
+        return connection.sendAndWait(null, new Command<Map<String, Object>>(method, params, Json.MAP_TYPE),
+                COMMAND_TIMEOUT);
+    }
+
+    /**
+     * Contexts created and their average creation time
+     */
+    public static String summary() {
+        long created = CREATED.get();
+        return String.format("%d created, avg %d ms, %d failed", created,
+                created == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(CREATE_NANOS.sum() / created), FAILED.get());
+    }
+
+    public static long getCreated() {
+        return CREATED.get();
+    }
+}
@@ -0,0 +1,286 @@
+package com.globalnews.utils;
+
+import org.openqa.selenium.WebDriver;
+
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Launches browsers in the background so a test that needs a new one can take a
+ * browser that is already running, optionally with a page already loaded.
+ * How many are kept ready follows demand: launch time divided by the interval
+ * between takes, so slow launches or fast consumption keep more in reserve.
+ * Every ready or launching browser holds a permit of the {@link DriverPool}, so they
+ * count against its session limit; no background launch starts while all permits are
+ * in use, and a lease that finds none free takes a ready browser with its permit.
+ * Ready browsers nobody takes within the idle timeout are quit.
+ */
+public class BrowserPrespawner {
+
+    /**
+     * A browser launched ahead of time
+     */
+    private static class Ready {
+        final WebDriver driver;
+        final long launchNanos;
+        final long readyAt = System.nanoTime();
+
+        Ready(WebDriver driver, long launchNanos) {
+            this.driver = driver;
+            this.launchNanos = launchNanos;
+        }
+    }
+
+    /**
+     * Demand and readiness for one pool key
+     */
+    private static class Lane {
+        final Deque<Ready> ready = new ConcurrentLinkedDeque<>();
+        final AtomicInteger inFlight = new AtomicInteger();
+        volatile Supplier<WebDriver> launcher;
+        volatile long lastTakeNanos;
+        volatile double takeIntervalNanos;
+        volatile double launchNanos;
+    }
+
+    private final int maxReady;
+    private final long idleNanos;
+    private final String warmUrl;
+    private final DriverPool pool;
+    private final Map<String, Lane> lanes = new ConcurrentHashMap<>();
+    private final ExecutorService launchers;
+    private final ScheduledExecutorService sweeper;
+
+    // Statistics
+    private final AtomicLong takes = new AtomicLong();
+    private final AtomicLong readyHits = new AtomicLong();
+    private final AtomicLong hiddenNanos = new AtomicLong();
+    private final AtomicLong expired = new AtomicLong();
+    private final AtomicLong launchFailures = new AtomicLong();
+
+    /**
+     * @param maxReady Upper bound of browsers kept ready per key, 0 disables pre-spawning
+     * @param idleSeconds Seconds a ready browser may wait before it is quit
+     * @param warmUrl Page loaded into ready browsers, or null to leave them blank
+     * @param pool Pool whose permits bound the browsers launched in the background
+     */
+    public BrowserPrespawner(int maxReady, int idleSeconds, String warmUrl, DriverPool pool) {
+        this.maxReady = Math.max(0, maxReady);
+        this.idleNanos = TimeUnit.SECONDS.toNanos(idleSeconds);
+        this.warmUrl = warmUrl;
+        this.pool = pool;
+        this.launchers = Executors.newFixedThreadPool(Math.max(1, this.maxReady), daemon("browser-prespawn"));
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(daemon("browser-prespawn-sweeper"));
+        sweeper.scheduleWithFixedDelay(this::expireIdle, idleSeconds, Math.max(1, idleSeconds / 2), TimeUnit.SECONDS);
+    }
+
+    /**
+     * Take a ready browser for the key, or launch one now when none is ready.
+     * Either way more browsers are launched in the background to meet demand,
+     * as far as the pool has permits to spare. A ready browser's permit is given
+     * back, the caller's lease covers it from now on.
+     */
+    public WebDriver take(String key, Supplier<WebDriver> launcher) {
+        Lane lane = lanes.computeIfAbsent(key, k -> new Lane());
+        lane.launcher = launcher;
+        takes.incrementAndGet();
+        recordTake(lane);
+
+        Ready ready = lane.ready.pollFirst();
+        WebDriver driver;
+        if (ready != null) {
+            readyHits.incrementAndGet();
+            hiddenNanos.addAndGet(ready.launchNanos);
+            driver = ready.driver;
+            pool.unreserve();
+        } else {
+            long start = System.nanoTime();
+            driver = launcher.get();
+            recordLaunch(lane, System.nanoTime() - start);
+        }
+        refill(lane);
+        return driver;
+    }
+
+    /**
+     * A ready browser for the key, keeping its reserved permit, for a lease that found
+     * every permit in use (see {@link DriverPool#setSpares}); null when none is ready
+     */
+    public WebDriver takeReady(String key) {
+        Lane lane = lanes.get(key);
+        Ready ready = lane == null ? null : lane.ready.pollFirst();
+        if (ready == null) {
+            return null;
+        }
+        takes.incrementAndGet();
+        recordTake(lane);
+        readyHits.incrementAndGet();
+        hiddenNanos.addAndGet(ready.launchNanos);
+        return ready.driver;
+    }
+
+    /**
+     * Quit all ready browsers and stop launching
+     */
+    public void shutdown() {
+        sweeper.shutdownNow();
+        launchers.shutdownNow();
+        for (Lane lane : lanes.values()) {
+            Ready ready;
+            while ((ready = lane.ready.pollFirst()) != null) {
+                quitQuietly(ready.driver);
+                pool.unreserve();
+            }
+        }
+    }
+
+    /**
+     * Page loaded into ready browsers, or null when they stay blank
+     */
+    public String getWarmUrl() {
+        return warmUrl;
+    }
+
+    /**
+     * Launch time saved by handing out ready browsers
+     */
+    public long getHiddenSetupMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(hiddenNanos.get());
+    }
+
+    public long getReadyHits() {
+        return readyHits.get();
+    }
+
+    public long getTakes() {
+        return takes.get();
+    }
+
+    public String summary() {
+        return String.format("takes=%d ready=%d (%.1f%%) hiddenSetup=%.1fs expired=%d failedLaunches=%d",
+                takes.get(), readyHits.get(), takes.get() == 0 ? 0.0 : readyHits.get() * 100.0 / takes.get(),
+                hiddenNanos.get() / 1e9, expired.get(), launchFailures.get());
+    }
+
+    /**
+     * Browsers to keep ready: enough to cover one launch time at the observed take rate
+     */
+    private int targetReady(Lane lane) {
+        if (maxReady == 0 || lane.takeIntervalNanos <= 0 || lane.launchNanos <= 0) {
+            return Math.min(maxReady, 1);
+        }
+        int needed = (int) Math.ceil(lane.launchNanos / lane.takeIntervalNanos);
+        return Math.max(1, Math.min(maxReady, needed));
+    }
+
+    private void refill(Lane lane) {
+        int missing = targetReady(lane) - lane.ready.size() - lane.inFlight.get();
+        for (int i = 0; i < missing; i++) {
+            if (!pool.tryReserve()) {
+                // Every permit is leased or reserved: the limit leaves no room for a spare browser
+                return;
+            }
+            lane.inFlight.incrementAndGet();
+            try {
+                launchers.execute(() -> launch(lane));
+            } catch (RuntimeException e) {
+                // Shut down
+                lane.inFlight.decrementAndGet();
+                pool.unreserve();
+                return;
+            }
+        }
+    }
+
+    private void launch(Lane lane) {
+        boolean offered = false;
+        try {
+            long start = System.nanoTime();
+            WebDriver driver = lane.launcher.get();
+            // Only the launch counts as hidden setup, the test loads its own page anyway
+            long elapsed = System.nanoTime() - start;
+            recordLaunch(lane, elapsed);
+            if (warmUrl != null) {
+                try {
+                    driver.get(warmUrl);
+                } catch (RuntimeException e) {
+                    quitQuietly(driver);
+                    throw e;
+                }
+            }
+            if (launchers.isShutdown()) {
+                quitQuietly(driver);
+            } else {
+                lane.ready.offerLast(new Ready(driver, elapsed));
+                offered = true;
+            }
+        } catch (RuntimeException e) {
+            launchFailures.incrementAndGet();
+            EventLog.warning("BrowserPrespawner", "Background browser launch failed", e.getMessage());
+        } finally {
+            lane.inFlight.decrementAndGet();
+            if (!offered) {
+                pool.unreserve();
+            }
+        }
+    }
+
+    private void expireIdle() {
+        long now = System.nanoTime();
+        for (Lane lane : lanes.values()) {
+            for (Ready ready : lane.ready) {
+                if (now - ready.readyAt > idleNanos && lane.ready.remove(ready)) {
+                    expired.incrementAndGet();
+                    quitQuietly(ready.driver);
+                    pool.unreserve();
+                }
+            }
+        }
+    }
+
+    private static void recordTake(Lane lane) {
+        long now = System.nanoTime();
+        if (lane.lastTakeNanos != 0) {
+            lane.takeIntervalNanos = ewma(lane.takeIntervalNanos, now - lane.lastTakeNanos);
+        }
+        lane.lastTakeNanos = now;
+    }
+
+    private static void recordLaunch(Lane lane, long nanos) {
+        lane.launchNanos = ewma(lane.launchNanos, nanos);
+    }
+
+    private static double ewma(double average, long sample) {
+        return average <= 0 ? sample : average * 0.7 + sample * 0.3;
+    }
+
+    private static ThreadFactory daemon(String name) {
+        AtomicInteger counter = new AtomicInteger();
+        return r -> {
+            Thread thread = new Thread(r, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static void quitQuietly(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (Exception e) {
+            EventLog.warning("BrowserPrespawner", "Error while quitting pre-spawned WebDriver", e.getMessage());
+        } finally {
+            ProfileSnapshots.release(driver);
+            BrowserContexts.release(driver);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.globalnews.utils;
+
+import io.qameta.allure.Allure;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Latency of every WebDriver command, per command type, for the running test
+ * and the whole suite. Drivers are wrapped once with Selenium's
+ * {@link EventFiringDecorator}; commands are named after the interface that
+ * declares them, e.g. "WebDriver.findElement", "WebElement.getAttribute",
+ * "Navigation.refresh". Waits and fixed sleeps are recorded alongside them.
+ */
+public final class CommandLatency {
+
+    private static final int MAX_DEPTH = 16;
+
+    private static final Map<String, LatencyHistogram> SUITE = new ConcurrentHashMap<>();
+    private static final ThreadLocal<Map<String, LatencyHistogram>> TEST = ThreadLocal.withInitial(HashMap::new);
+    // Start times of the calls in progress on this thread; slot 0 holds the depth
+    private static final ThreadLocal<long[]> STARTS = ThreadLocal.withInitial(() -> new long[MAX_DEPTH + 1]);
+    private static final Map<Method, String> NAMES = new ConcurrentHashMap<>();
+
+    private static final WebDriverListener LISTENER = new WebDriverListener() {
+        @Override
+        public void beforeAnyCall(Object target, Method method, Object[] args) {
+            long[] starts = STARTS.get();
+            int depth = (int) starts[0];
+            if (depth < MAX_DEPTH) {
+                starts[depth + 1] = System.nanoTime();
+            }
+            starts[0] = depth + 1;
+        }
+
+        @Override
+        public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+            finish(method);
+        }
+
+        @Override
+        public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+            finish(method);
+        }
+    };
+
+    private CommandLatency() {
+    }
+
+    /**
+     * Wrap a driver so its commands are timed. Decorating is slow (tens of
+     * milliseconds), so do it once per browser, not per test.
+     */
+    public static WebDriver decorate(WebDriver driver) {
+        return new EventFiringDecorator<WebDriver>(LISTENER).decorate(driver);
+    }
+
+    /**
+     * Record time spent outside WebDriver commands, e.g. "sleep"
+     */
+    public static void record(String command, long nanos) {
+        SUITE.computeIfAbsent(command, k -> new LatencyHistogram()).record(nanos);
+        TEST.get().computeIfAbsent(command, k -> new LatencyHistogram()).record(nanos);
+    }
+
+    /**
+     * Start a new per-test breakdown on the current thread
+     */
+    public static void startTest() {
+        TEST.get().clear();
+    }
+
+    /**
+     * Current thread's commands since {@link #startTest}, slowest total first
+     */
+    public static Map<String, LatencyHistogram> getTestBreakdown() {
+        return byTotalTime(TEST.get());
+    }
+
+    /**
+     * Commands of all tests, slowest total first
+     */
+    public static Map<String, LatencyHistogram> getSuiteBreakdown() {
+        return byTotalTime(SUITE);
+    }
+
+    /**
+     * Attach the running test's breakdown to its Allure report
+     */
+    public static void attachTestBreakdown() {
+        Map<String, LatencyHistogram> breakdown = getTestBreakdown();
+        if (!breakdown.isEmpty()) {
+            Allure.addAttachment("Command latency", "text/plain", format(breakdown), ".txt");
+        }
+    }
+
+    /**
+     * One aligned line per command
+     */
+    public static String format(Map<String, LatencyHistogram> breakdown) {
+        StringBuilder table = new StringBuilder();
+        table.append(String.format("%-40s %7s %9s %9s %9s %9s %10s%n",
+                "command", "count", "p50 ms", "p90 ms", "p99 ms", "max ms", "total ms"));
+        for (Map.Entry<String, LatencyHistogram> entry : breakdown.entrySet()) {
+            LatencyHistogram histogram = entry.getValue();
+            table.append(String.format("%-40s %7d %9.1f %9.1f %9.1f %9.1f %10.0f%n",
+                    entry.getKey(), histogram.getCount(), histogram.percentileMillis(50),
+                    histogram.percentileMillis(90), histogram.percentileMillis(99),
+                    histogram.getMaxMillis(), histogram.getTotalMillis()));
+        }
+        return table.toString();
+    }
+
+    private static void finish(Method method) {
+        long[] starts = STARTS.get();
+        int depth = (int) starts[0];
+        if (depth == 0) {
+            return;
+        }
+        starts[0] = depth - 1;
+        if (depth <= MAX_DEPTH) {
+            record(nameOf(method), System.nanoTime() - starts[depth]);
+        }
+    }
+
+    private static String nameOf(Method method) {
+        return NAMES.computeIfAbsent(method,
+                m -> m.getDeclaringClass().getSimpleName() + "." + m.getName());
+    }
+
+    private static Map<String, LatencyHistogram> byTotalTime(Map<String, LatencyHistogram> histograms) {
+        Map<String, LatencyHistogram> sorted = new LinkedHashMap<>();
+        histograms.entrySet().stream()
+                .sorted(Comparator.comparingDouble(
+                        (Map.Entry<String, LatencyHistogram> e) -> e.getValue().getTotalMillis()).reversed())
+                .forEach(e -> sorted.put(e.getKey(), e.getValue()));
+        return sorted;
+    }
+}
@@ -0,0 +1,35 @@
+package com.globalnews.utils;
+
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Suite listener that prints the suite-wide WebDriver command latency breakdown
+ * and writes it to target/command-latency.txt
+ */
+public class CommandLatencyListener implements ISuiteListener {
+
+    private static final Path REPORT = Paths.get("target", "command-latency.txt");
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (CommandLatency.getSuiteBreakdown().isEmpty()) {
+            return;
+        }
+        String table = CommandLatency.format(CommandLatency.getSuiteBreakdown());
+        System.out.println("⏱️ Command latency (" + suite.getName() + "):");
+        System.out.print(table);
+        try {
+            Files.createDirectories(REPORT.toAbsolutePath().getParent());
+            Files.write(REPORT, table.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            EventLog.warning("CommandLatencyListener", "Could not write " + REPORT, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.globalnews.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sizes the number of concurrent browser sessions to the machine and adjusts it
+ * while the suite runs. The initial limit comes from cores, available memory and
+ * the expected browser footprint; afterwards the limit is cut when the load average
+ * climbs, memory runs low or browser launches fail, and raised again one session
+ * at a time while the machine has headroom and tests are waiting for a browser.
+ * The limit is enforced through {@link DriverPool#setMaxSessions}.
+ */
+public class ConcurrencyController {
+
+    private static final long MB = 1024 * 1024;
+
+    // Override with -Dscheduler.maxThreads=16 etc.
+    private static final int MAX_THREADS = Integer.getInteger("scheduler.maxThreads", SystemResources.availableCores());
+    private static final long BROWSER_RSS_BYTES = Integer.getInteger("scheduler.browserRssMb", 350) * MB;
+    private static final long INTERVAL_SECONDS = Integer.getInteger("scheduler.intervalSeconds", 5);
+    private static final double HIGH_LOAD = 1.5;
+    private static final double LOW_LOAD = 0.7;
+
+    private final DriverPool pool;
+    private final long startNanos = System.nanoTime();
+    private final List<String> history = Collections.synchronizedList(new ArrayList<>());
+    private ScheduledExecutorService ticker;
+
+    private volatile int limit;
+    private volatile long browserRssBytes = BROWSER_RSS_BYTES;
+    private long seenLaunchFailures;
+
+    public ConcurrencyController(DriverPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Upper bound on concurrency; the TestNG thread pool is sized to this
+     */
+    public static int getMaxThreads() {
+        return Math.max(1, MAX_THREADS);
+    }
+
+    /**
+     * Apply the initial limit and start adjusting it in the background
+     */
+    public synchronized void start() {
+        long memory = SystemResources.availableMemoryBytes();
+        int byMemory = memory < 0 ? getMaxThreads() : (int) (memory / browserRssBytes);
+        int initial = clamp(Math.min(SystemResources.availableCores(), byMemory));
+        seenLaunchFailures = pool.getLaunchFailures();
+        apply(initial, String.format("cores=%d available=%dMB browser~%dMB",
+                SystemResources.availableCores(), memory / MB, browserRssBytes / MB));
+
+        ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "concurrency-controller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleWithFixedDelay(this::adjust, INTERVAL_SECONDS, INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    public synchronized void stop() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+            ticker = null;
+        }
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Measured resident memory per browser session
+     */
+    public long getBrowserRssBytes() {
+        return browserRssBytes;
+    }
+
+    /**
+     * Every limit change with its reason, e.g. "+35s 6→4 (load 1.82/core)"
+     */
+    public List<String> getHistory() {
+        synchronized (history) {
+            return new ArrayList<>(history);
+        }
+    }
+
+    synchronized void adjust() {
+        try {
+            measureBrowserFootprint();
+
+            double loadPerCore = SystemResources.loadAverage() / SystemResources.availableCores();
+            long memory = SystemResources.availableMemoryBytes();
+            long failures = pool.getLaunchFailures();
+            long newFailures = failures - seenLaunchFailures;
+            seenLaunchFailures = failures;
+
+            if (newFailures > 0) {
+                apply(limit - Math.max(1, limit / 4), newFailures + " failed launches");
+            } else if (loadPerCore > HIGH_LOAD) {
+                apply(limit - Math.max(1, limit / 4), String.format("load %.2f/core", loadPerCore));
+            } else if (memory >= 0 && memory < browserRssBytes) {
+                apply(limit - 1, "available " + memory / MB + "MB");
+            } else if (loadPerCore >= 0 && loadPerCore < LOW_LOAD
+                    && (memory < 0 || memory > 2 * browserRssBytes)
+                    && pool.getLeased() + pool.getReserved() >= limit) {
+                apply(limit + 1, String.format("load %.2f/core", loadPerCore));
+            }
+        } catch (RuntimeException e) {
+            EventLog.warning("ConcurrencyController", "Concurrency adjustment failed", e.getMessage());
+        }
+    }
+
+    /**
+     * Average the resident memory of the browsers this JVM started into the estimate
+     */
+    private void measureBrowserFootprint() {
+        int sessions = pool.getLeased() + pool.getIdleCount() + pool.getReserved();
+        long rss = SystemResources.descendantResidentBytes();
+        if (sessions > 0 && rss > 0) {
+            browserRssBytes = (browserRssBytes + rss / sessions) / 2;
+        }
+    }
+
+    private void apply(int requested, String reason) {
+        int target = clamp(requested);
+        if (target == limit) {
+            return;
+        }
+        long elapsed = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - startNanos);
+        history.add(String.format("+%ds %d→%d (%s)", elapsed, limit, target, reason));
+        limit = target;
+        pool.setMaxSessions(target);
+    }
+
+    private static int clamp(int value) {
+        return Math.max(1, Math.min(getMaxThreads(), value));
+    }
+}
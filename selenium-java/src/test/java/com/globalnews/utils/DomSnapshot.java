@@ -0,0 +1,266 @@
+package com.globalnews.utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.WebDriver;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * State of several elements read with a single executeScript call instead of one
+ * findElement/isDisplayed/getText/getAttribute round-trip each. Assertions then run
+ * against the returned copy.
+ * <pre>
+ * DomSnapshot snapshot = DomSnapshot.query(ReadinessConditions.SEARCH_INPUT, "h1")
+ *         .text().attributes("placeholder").take();
+ * Assert.assertTrue(snapshot.get("h1").isVisible());
+ * </pre>
+ * The first match of each selector is read. Round-trips saved are counted per test
+ * and for the suite.
+ */
+public class DomSnapshot {
+
+    private static final String SNAPSHOT_JS =
+            "var selectors = arguments[0], options = arguments[1], result = {};"
+            + "selectors.forEach(function(selector) {"
+            + "  var all = document.querySelectorAll(selector), el = all[0];"
+            + "  if (!el) { result[selector] = {count: 0}; return; }"
+            + "  var r = el.getBoundingClientRect(), s = window.getComputedStyle(el);"
+            + "  var entry = {count: all.length,"
+            + "    visible: r.width > 0 && r.height > 0 && s.visibility !== 'hidden'"
+            + "      && s.display !== 'none' && s.opacity !== '0'};"
+            + "  if (options.text) entry.text = (el.innerText || el.textContent || '').trim();"
+            + "  if (options.bounds) entry.bounds = {x: r.left, y: r.top, width: r.width, height: r.height};"
+            + "  entry.attributes = {};"
+            + "  options.attributes.forEach(function(name) {"
+            + "    var value = el.getAttribute(name);"
+            + "    if (value === null && name in el && el[name] !== null && typeof el[name] !== 'object'"
+            + "        && typeof el[name] !== 'function') value = String(el[name]);"
+            + "    entry.attributes[name] = value;"
+            + "  });"
+            + "  result[selector] = entry;"
+            + "});"
+            + "return result;";
+
+    private static final ThreadLocal<long[]> TEST_SAVED = ThreadLocal.withInitial(() -> new long[1]);
+    private static final AtomicLong SNAPSHOTS = new AtomicLong();
+    private static final AtomicLong SAVED = new AtomicLong();
+
+    /**
+     * Properties to read for every selector; visibility is always read
+     */
+    public static class Query {
+        private final List<String> selectors;
+        private boolean text;
+        private boolean bounds;
+        private List<String> attributes = Collections.emptyList();
+
+        Query(List<String> selectors) {
+            this.selectors = selectors;
+        }
+
+        /**
+         * Read the visible text, as WebElement.getText
+         */
+        public Query text() {
+            this.text = true;
+            return this;
+        }
+
+        /**
+         * Read these attributes, falling back to the DOM property as WebElement.getAttribute does
+         */
+        public Query attributes(String... names) {
+            this.attributes = Arrays.asList(names);
+            return this;
+        }
+
+        /**
+         * Read the bounding box in CSS pixels relative to the viewport
+         */
+        public Query bounds() {
+            this.bounds = true;
+            return this;
+        }
+
+        /**
+         * Take the snapshot on the current thread's browser
+         */
+        public DomSnapshot take() {
+            return take(DriverManager.getDriver());
+        }
+
+        @SuppressWarnings("unchecked")
+        public DomSnapshot take(WebDriver driver) {
+            Map<String, Object> options = new LinkedHashMap<>();
+            options.put("text", text);
+            options.put("bounds", bounds);
+            options.put("attributes", attributes);
+            Map<String, Object> raw = (Map<String, Object>) ((JavascriptExecutor) driver)
+                    .executeScript(SNAPSHOT_JS, selectors, options);
+
+            Map<String, Element> elements = new LinkedHashMap<>();
+            for (String selector : selectors) {
+                elements.put(selector, new Element(selector, (Map<String, Object>) raw.get(selector)));
+            }
+            countSaved(elements.values());
+            return new DomSnapshot(elements);
+        }
+
+        /**
+         * Commands the same reads would have cost one by one: findElement, isDisplayed
+         * and each requested property, for every element found
+         */
+        private void countSaved(Iterable<Element> elements) {
+            long equivalent = 0;
+            for (Element element : elements) {
+                equivalent++;
+                if (element.exists()) {
+                    equivalent += 1 + (text ? 1 : 0) + (bounds ? 1 : 0) + attributes.size();
+                }
+            }
+            long saved = Math.max(0, equivalent - 1);
+            TEST_SAVED.get()[0] += saved;
+            SAVED.addAndGet(saved);
+            SNAPSHOTS.incrementAndGet();
+        }
+    }
+
+    /**
+     * One selector's first match
+     */
+    public static class Element {
+        private final String selector;
+        private final int count;
+        private final boolean visible;
+        private final String text;
+        private final Map<String, String> attributes = new LinkedHashMap<>();
+        private final Rectangle bounds;
+
+        @SuppressWarnings("unchecked")
+        Element(String selector, Map<String, Object> raw) {
+            this.selector = selector;
+            this.count = ((Number) raw.get("count")).intValue();
+            this.visible = Boolean.TRUE.equals(raw.get("visible"));
+            this.text = (String) raw.get("text");
+            Object values = raw.get("attributes");
+            if (values instanceof Map) {
+                ((Map<String, Object>) values).forEach((name, value) ->
+                        attributes.put(name, value == null ? null : String.valueOf(value)));
+            }
+            Object box = raw.get("bounds");
+            if (box instanceof Map) {
+                Map<String, Object> rect = (Map<String, Object>) box;
+                bounds = new Rectangle((int) number(rect, "x"), (int) number(rect, "y"),
+                        (int) number(rect, "height"), (int) number(rect, "width"));
+            } else {
+                bounds = null;
+            }
+        }
+
+        public String getSelector() {
+            return selector;
+        }
+
+        public boolean exists() {
+            return count > 0;
+        }
+
+        /**
+         * Number of elements matching the selector
+         */
+        public int getCount() {
+            return count;
+        }
+
+        public boolean isVisible() {
+            return visible;
+        }
+
+        /**
+         * Visible text, or null when not requested or the element does not exist
+         */
+        public String getText() {
+            return text;
+        }
+
+        /**
+         * Attribute value, or null when absent, not requested or the element does not exist
+         */
+        public String getAttribute(String name) {
+            return attributes.get(name);
+        }
+
+        /**
+         * Bounding box, or null when not requested or the element does not exist
+         */
+        public Rectangle getBounds() {
+            return bounds;
+        }
+
+        @Override
+        public String toString() {
+            return selector + (exists() ? (visible ? " visible" : " hidden") : " missing");
+        }
+
+        private static double number(Map<String, Object> raw, String key) {
+            Object value = raw.get(key);
+            return value instanceof Number ? ((Number) value).doubleValue() : 0;
+        }
+    }
+
+    private final Map<String, Element> elements;
+
+    private DomSnapshot(Map<String, Element> elements) {
+        this.elements = Collections.unmodifiableMap(elements);
+    }
+
+    /**
+     * Start describing a snapshot of the first match of each CSS selector
+     */
+    public static Query query(String... cssSelectors) {
+        return new Query(Arrays.asList(cssSelectors));
+    }
+
+    /**
+     * Element for a selector passed to {@link #query}
+     */
+    public Element get(String cssSelector) {
+        Element element = elements.get(cssSelector);
+        if (element == null) {
+            throw new IllegalArgumentException("Selector was not part of the snapshot: " + cssSelector);
+        }
+        return element;
+    }
+
+    public Map<String, Element> getElements() {
+        return elements;
+    }
+
+    /**
+     * Reset the per-test round-trip counter
+     */
+    public static void startTest() {
+        TEST_SAVED.get()[0] = 0;
+    }
+
+    /**
+     * WebDriver round-trips the current test saved by taking snapshots
+     */
+    public static long getTestSavedRoundTrips() {
+        return TEST_SAVED.get()[0];
+    }
+
+    public static long getSnapshotCount() {
+        return SNAPSHOTS.get();
+    }
+
+    public static long getSavedRoundTrips() {
+        return SAVED.get();
+    }
+}
@@ -0,0 +1,19 @@
+package com.globalnews.utils;
+
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+/**
+ * Suite listener that reports how many WebDriver round-trips {@link DomSnapshot} saved
+ */
+public class DomSnapshotListener implements ISuiteListener {
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (DomSnapshot.getSnapshotCount() == 0) {
+            return;
+        }
+        System.out.println("🧺 DOM snapshots (" + suite.getName() + "): " + DomSnapshot.getSnapshotCount()
+                + " snapshots saved " + DomSnapshot.getSavedRoundTrips() + " round-trips");
+    }
+}
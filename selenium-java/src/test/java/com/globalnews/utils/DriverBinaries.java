@@ -0,0 +1,319 @@
+package com.globalnews.utils;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Resolves browser driver binaries once per JVM instead of once per session.
+ * A resolution is kept in memory for the process and in a lockfile shared by all
+ * JVMs on the machine (forks, shards, later runs); WebDriverManager is only
+ * consulted when the lockfile entry is missing, expired or the browser was updated.
+ * With -Ddriver.offline=true the network is never used: the lockfile, the
+ * WebDriverManager cache and the PATH are searched instead.
+ */
+public final class DriverBinaries {
+
+    private static final boolean OFFLINE = Boolean.getBoolean("driver.offline");
+    private static final long TTL_MILLIS = TimeUnit.HOURS.toMillis(Integer.getInteger("driver.lock.ttlHours", 24));
+    private static final Path LOCKFILE = Paths.get(System.getProperty("driver.lockfile",
+            Paths.get(System.getProperty("user.home"), ".cache", "selenium", "globalnews-drivers.properties").toString()));
+    private static final Path WDM_CACHE = Paths.get(System.getProperty("user.home"), ".cache", "selenium");
+
+    private static final Map<String, Resolution> RESOLVED = new ConcurrentHashMap<>();
+    // A JVM may hold only one lock on a file: threads resolving different browsers take turns here first
+    private static final Object FILE_LOCK_GUARD = new Object();
+
+    /**
+     * A resolved driver binary and the browser it was resolved for
+     */
+    public static class Resolution {
+        private final String driverPath;
+        private final String driverVersion;
+        private final String browserPath;
+        private final String browserVersion;
+        private final long browserModified;
+        private final long resolvedAt;
+        private final String source;
+
+        Resolution(String driverPath, String driverVersion, String browserPath, String browserVersion,
+                   long browserModified, long resolvedAt, String source) {
+            this.driverPath = driverPath;
+            this.driverVersion = driverVersion;
+            this.browserPath = browserPath;
+            this.browserVersion = browserVersion;
+            this.browserModified = browserModified;
+            this.resolvedAt = resolvedAt;
+            this.source = source;
+        }
+
+        public String getDriverPath() {
+            return driverPath;
+        }
+
+        public String getDriverVersion() {
+            return driverVersion;
+        }
+
+        public String getBrowserVersion() {
+            return browserVersion;
+        }
+
+        /**
+         * Where the resolution came from: lockfile, webdrivermanager or offline
+         */
+        public String getSource() {
+            return source;
+        }
+
+        @Override
+        public String toString() {
+            return driverPath + " (driver " + driverVersion + ", browser " + browserVersion + ", " + source + ")";
+        }
+    }
+
+    private DriverBinaries() {
+    }
+
+    /**
+     * Make chromedriver available to new ChromeDriver sessions
+     */
+    public static Resolution chrome() {
+        return resolve("chrome");
+    }
+
+    /**
+     * Make geckodriver available to new FirefoxDriver sessions
+     */
+    public static Resolution firefox() {
+        return resolve("firefox");
+    }
+
+    /**
+     * Resolve the driver for a browser; concurrent callers wait for a single resolution
+     */
+    public static Resolution resolve(String browser) {
+        return RESOLVED.computeIfAbsent(browser.toLowerCase(Locale.ROOT), DriverBinaries::resolveOnce);
+    }
+
+    private static Resolution resolveOnce(String browser) {
+        Resolution resolution;
+        try {
+            resolution = resolveLocked(browser);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not resolve the " + browser + " driver: " + e.getMessage(), e);
+        }
+        System.setProperty(driverProperty(browser), resolution.driverPath);
+        EventLog.event(EventLog.Type.DRIVER_RESOLVED, driverName(browser), resolution.toString());
+        return resolution;
+    }
+
+    /**
+     * Read or refresh the lockfile while holding an OS file lock, so parallel JVMs
+     * do not resolve or download the same binary at the same time
+     */
+    private static Resolution resolveLocked(String browser) throws IOException {
+        synchronized (FILE_LOCK_GUARD) {
+            return resolveFileLocked(browser);
+        }
+    }
+
+    private static Resolution resolveFileLocked(String browser) throws IOException {
+        Files.createDirectories(LOCKFILE.toAbsolutePath().getParent());
+        Path lock = LOCKFILE.resolveSibling(LOCKFILE.getFileName() + ".lock");
+        try (FileChannel channel = FileChannel.open(lock, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             FileLock ignored = channel.lock()) {
+            Properties entries = readLockfile();
+            Resolution cached = fromLockfile(entries, browser);
+            if (cached != null && isValid(cached)) {
+                return cached;
+            }
+
+            Resolution resolution = OFFLINE ? resolveOffline(browser, cached) : resolveOnline(browser);
+            if (!OFFLINE) {
+                writeLockfile(entries, browser, resolution);
+            }
+            return resolution;
+        }
+    }
+
+    private static boolean isValid(Resolution resolution) {
+        if (!Files.isExecutable(Paths.get(resolution.driverPath))) {
+            return false;
+        }
+        if (OFFLINE) {
+            return true;
+        }
+        boolean fresh = System.currentTimeMillis() - resolution.resolvedAt < TTL_MILLIS;
+        return fresh && browserModified(resolution.browserPath) == resolution.browserModified;
+    }
+
+    private static Resolution resolveOnline(String browser) {
+        WebDriverManager manager = "firefox".equals(browser)
+                ? WebDriverManager.firefoxdriver()
+                : WebDriverManager.chromedriver();
+        manager.setup();
+        String browserPath = manager.getBrowserPath().map(Path::toString).orElse("");
+        return new Resolution(manager.getDownloadedDriverPath(), manager.getDownloadedDriverVersion(),
+                browserPath, browserVersion(browserPath), browserModified(browserPath),
+                System.currentTimeMillis(), "webdrivermanager");
+    }
+
+    /**
+     * Best local candidate without any network access: the lockfile entry even if
+     * expired, else the newest driver in the WebDriverManager cache, else the PATH
+     */
+    private static Resolution resolveOffline(String browser, Resolution stale) throws IOException {
+        if (stale != null && Files.isExecutable(Paths.get(stale.driverPath))) {
+            return stale;
+        }
+        String name = driverName(browser);
+        Optional<Path> driver = findInCache(name);
+        if (!driver.isPresent()) {
+            driver = findOnPath(name);
+        }
+        if (!driver.isPresent()) {
+            throw new IOException("driver.offline=true but no " + name + " in " + LOCKFILE + ", " + WDM_CACHE
+                    + " or the PATH; run once online to populate the cache");
+        }
+        return new Resolution(driver.get().toString(), "unknown", "", "unknown", 0, System.currentTimeMillis(), "offline");
+    }
+
+    private static Optional<Path> findInCache(String name) throws IOException {
+        Path root = WDM_CACHE.resolve(name);
+        if (!Files.isDirectory(root)) {
+            return Optional.empty();
+        }
+        try (Stream<Path> files = Files.walk(root)) {
+            return files.filter(p -> isDriverBinary(p, name))
+                    .max(Comparator.comparingLong(DriverBinaries::modified));
+        }
+    }
+
+    private static Optional<Path> findOnPath(String name) {
+        String path = System.getenv("PATH");
+        if (path == null) {
+            return Optional.empty();
+        }
+        for (String dir : path.split(java.io.File.pathSeparator)) {
+            for (String candidate : new String[] {name, name + ".exe"}) {
+                Path file = Paths.get(dir, candidate);
+                if (Files.isExecutable(file)) {
+                    return Optional.of(file);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static boolean isDriverBinary(Path file, String name) {
+        String fileName = file.getFileName().toString();
+        return (fileName.equals(name) || fileName.equals(name + ".exe")) && Files.isExecutable(file);
+    }
+
+    /**
+     * Browser version from "&lt;browser&gt; --version", only run when resolving online
+     */
+    private static String browserVersion(String browserPath) {
+        if (browserPath.isEmpty()) {
+            return "unknown";
+        }
+        try {
+            Process process = new ProcessBuilder(browserPath, "--version").redirectErrorStream(true).start();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+                return "unknown";
+            }
+            try (InputStream out = process.getInputStream()) {
+                String text = new String(out.readAllBytes(), StandardCharsets.UTF_8).trim();
+                return text.replaceAll("[^0-9.]+", " ").trim().split(" ")[0];
+            }
+        } catch (IOException e) {
+            return "unknown";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "unknown";
+        }
+    }
+
+    private static long browserModified(String browserPath) {
+        return browserPath.isEmpty() ? 0 : modified(Paths.get(browserPath));
+    }
+
+    private static long modified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static Properties readLockfile() throws IOException {
+        Properties entries = new Properties();
+        if (Files.exists(LOCKFILE)) {
+            try (InputStream in = Files.newInputStream(LOCKFILE)) {
+                entries.load(in);
+            }
+        }
+        return entries;
+    }
+
+    private static Resolution fromLockfile(Properties entries, String browser) {
+        String driverPath = entries.getProperty(browser + ".driverPath");
+        if (driverPath == null) {
+            return null;
+        }
+        try {
+            return new Resolution(driverPath,
+                    entries.getProperty(browser + ".driverVersion", "unknown"),
+                    entries.getProperty(browser + ".browserPath", ""),
+                    entries.getProperty(browser + ".browserVersion", "unknown"),
+                    Long.parseLong(entries.getProperty(browser + ".browserModified", "0")),
+                    Long.parseLong(entries.getProperty(browser + ".resolvedAt", "0")),
+                    "lockfile");
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static void writeLockfile(Properties entries, String browser, Resolution resolution) throws IOException {
+        entries.setProperty(browser + ".driverPath", resolution.driverPath);
+        entries.setProperty(browser + ".driverVersion", String.valueOf(resolution.driverVersion));
+        entries.setProperty(browser + ".browserPath", resolution.browserPath);
+        entries.setProperty(browser + ".browserVersion", resolution.browserVersion);
+        entries.setProperty(browser + ".browserModified", Long.toString(resolution.browserModified));
+        entries.setProperty(browser + ".resolvedAt", Long.toString(resolution.resolvedAt));
+
+        Path temp = Files.createTempFile(LOCKFILE.toAbsolutePath().getParent(), "drivers", ".tmp");
+        try (OutputStream out = Files.newOutputStream(temp)) {
+            entries.store(out, "Resolved browser drivers, see DriverBinaries");
+        }
+        Files.move(temp, LOCKFILE, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static String driverName(String browser) {
+        return "firefox".equals(browser) ? "geckodriver" : "chromedriver";
+    }
+
+    private static String driverProperty(String browser) {
+        return "firefox".equals(browser) ? "webdriver.gecko.driver" : "webdriver.chrome.driver";
+    }
+}
@@ -1,14 +1,22 @@
 package com.globalnews.utils;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WrapsDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.devtools.NetworkInterceptor;
 import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.http.Filter;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
+import java.nio.file.Path;
 import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 /**
  * WebDriver Manager for Selenium Java Tests
@@ -18,12 +26,37 @@ public class DriverManager {
     
     private static final ThreadLocal<WebDriver> driverThreadLocal = new ThreadLocal<>();
     private static final ThreadLocal<WebDriverWait> waitThreadLocal = new ThreadLocal<>();
+    private static final ThreadLocal<DriverPool.Session> sessionThreadLocal = new ThreadLocal<>();
+    private static final Map<WebDriver, NetworkInterceptor> networkInterceptors =
+            Collections.synchronizedMap(new WeakHashMap<>());
     
     // Configuration
     private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(10);
     private static final Duration PAGE_LOAD_TIMEOUT = Duration.ofSeconds(30);
     private static final Duration IMPLICIT_WAIT = Duration.ofSeconds(5);
     
+    // Session pool configuration (override with -Ddriver.pool=false etc.)
+    private static final boolean POOL_ENABLED = Boolean.parseBoolean(System.getProperty("driver.pool", "true"));
+    private static final DriverPool POOL = new DriverPool(
+            Integer.getInteger("driver.pool.maxSessions", 8),
+            Integer.getInteger("driver.pool.maxUses", 20));
+    
+    // Time every WebDriver command (override with -Ddriver.commandStats=false)
+    private static final boolean COMMAND_STATS = Boolean.parseBoolean(System.getProperty("driver.commandStats", "true"));
+    
+    // Background launches within the pool's limit (override with -Dprespawn.max=0 to disable,
+    // -Dprespawn.warmUrl=<url> to load a page into them)
+    private static final BrowserPrespawner PRESPAWNER = new BrowserPrespawner(
+            Integer.getInteger("prespawn.max", 2),
+            Integer.getInteger("prespawn.idleSeconds", 60),
+            System.getProperty("prespawn.warmUrl", "").isEmpty() ? null : System.getProperty("prespawn.warmUrl"),
+            POOL);
+    
+    static {
+        // A lease waiting for a permit takes a ready browser together with the permit it holds
+        POOL.setSpares(PRESPAWNER::takeReady);
+    }
+    
     /**
      * Get WebDriver instance for current thread
      */
@@ -38,12 +71,103 @@ public class DriverManager {
         return waitThreadLocal.get();
     }
     
+    /**
+     * Get the shared browser session pool
+     */
+    public static DriverPool getPool() {
+        return POOL;
+    }
+    
+    /**
+     * Get the background browser launcher
+     */
+    public static BrowserPrespawner getPrespawner() {
+        return PRESPAWNER;
+    }
+    
     /**
      * Initialize WebDriver with specified browser
      * @param browser Browser type (chrome, firefox)
      * @param headless Run in headless mode
      */
     public static void initializeDriver(String browser, boolean headless) {
+        bindDriver(takeNewDriver(browser, headless));
+    }
+    
+    /**
+     * Lease a warm browser from the session pool, launching one on a pool miss.
+     * Falls back to {@link #initializeDriver} when pooling is disabled.
+     * @param browser Browser type (chrome, firefox)
+     * @param headless Run in headless mode
+     */
+    public static void acquireDriver(String browser, boolean headless) {
+        if (!POOL_ENABLED) {
+            initializeDriver(browser, headless);
+            return;
+        }
+        
+        long start = Timeline.start();
+        DriverPool.Session session = POOL.lease(poolKey(browser, headless), () -> takeNewDriver(browser, headless));
+        Timeline.end("lease " + browser, Timeline.DRIVER, start);
+        if (BrowserContexts.isEnabled() && !BrowserContexts.open(session.getDriver())) {
+            // No isolation in this browser: recycle it and give the test one more browser
+            POOL.release(session, false, driver -> false);
+            session = POOL.lease(poolKey(browser, headless), () -> takeNewDriver(browser, headless));
+            if (!BrowserContexts.open(session.getDriver())) {
+                POOL.release(session, false, driver -> false);
+                throw new IllegalStateException("Could not open a browser context for the test (driver.contexts=true)");
+            }
+        }
+        sessionThreadLocal.set(session);
+        bindDriver(session.getDriver());
+    }
+    
+    /**
+     * Return the current thread's browser to the pool, or quit it when it was not pooled
+     * @param failed True when the test failed; the browser is then recycled instead of reused
+     */
+    public static void releaseDriver(boolean failed) {
+        DriverPool.Session session = sessionThreadLocal.get();
+        if (session == null) {
+            quitDriver();
+            return;
+        }
+        
+        long start = Timeline.start();
+        boolean headless = session.getKey().endsWith(":headless");
+        NetworkStubs.clear(session.getDriver());
+        boolean restored = BrowserContexts.close(session.getDriver());
+        sessionThreadLocal.remove();
+        driverThreadLocal.remove();
+        waitThreadLocal.remove();
+        POOL.release(session, !failed && restored, driver -> resetSession(driver, headless));
+        Timeline.end("release", Timeline.DRIVER, start);
+    }
+    
+    /**
+     * Quit all idle pooled and pre-spawned browsers
+     */
+    public static void shutdownPool() {
+        PRESPAWNER.shutdown();
+        POOL.shutdown();
+    }
+    
+    private static String poolKey(String browser, boolean headless) {
+        return browser.toLowerCase() + (headless ? ":headless" : ":headed");
+    }
+    
+    /**
+     * A browser no test has used yet: pre-spawned when one is ready, launched now otherwise
+     */
+    private static WebDriver takeNewDriver(String browser, boolean headless) {
+        return PRESPAWNER.take(poolKey(browser, headless), () -> createDriver(browser, headless));
+    }
+    
+    /**
+     * Create a configured WebDriver for the given browser
+     */
+    private static WebDriver createDriver(String browser, boolean headless) {
+        long start = Timeline.start();
         WebDriver driver;
         
         switch (browser.toLowerCase()) {
@@ -61,24 +185,107 @@ public class DriverManager {
         driver.manage().timeouts().pageLoadTimeout(PAGE_LOAD_TIMEOUT);
         driver.manage().timeouts().implicitlyWait(IMPLICIT_WAIT);
         
-        // Maximize window (unless headless)
+        applyDefaultWindowSize(driver, headless);
+        Timeline.end("launch " + browser.toLowerCase(), Timeline.DRIVER, start);
+        return COMMAND_STATS ? CommandLatency.decorate(driver) : driver;
+    }
+    
+    /**
+     * Maximize window (unless headless)
+     */
+    private static void applyDefaultWindowSize(WebDriver driver, boolean headless) {
         if (!headless) {
             driver.manage().window().maximize();
         } else {
             driver.manage().window().setSize(new org.openqa.selenium.Dimension(1920, 1080));
         }
-        
-        // Set up ThreadLocal instances
+    }
+    
+    /**
+     * Set up ThreadLocal instances
+     */
+    private static void bindDriver(WebDriver driver) {
         driverThreadLocal.set(driver);
         waitThreadLocal.set(new WebDriverWait(driver, DEFAULT_TIMEOUT));
+        WebDriver undecorated = unwrap(driver);
+        if (undecorated instanceof RemoteWebDriver && ((RemoteWebDriver) undecorated).getSessionId() != null) {
+            EventLog.bindSession(((RemoteWebDriver) undecorated).getSessionId().toString());
+        }
+    }
+    
+    /**
+     * The browser's own driver behind any decorators (see {@link CommandLatency})
+     */
+    public static WebDriver unwrap(WebDriver driver) {
+        WebDriver current = driver;
+        while (current instanceof WrapsDriver) {
+            current = ((WrapsDriver) current).getWrappedDriver();
+        }
+        return current;
+    }
+    
+    /**
+     * Reset a pooled browser before it is leased again: extra windows, cookies,
+     * storage, window size and URL. Returns false if the browser is unusable.
+     */
+    private static boolean resetSession(WebDriver driver, boolean headless) {
+        try {
+            String mainWindow = driver.getWindowHandles().iterator().next();
+            for (String handle : driver.getWindowHandles()) {
+                if (!handle.equals(mainWindow)) {
+                    driver.switchTo().window(handle).close();
+                }
+            }
+            driver.switchTo().window(mainWindow);
+            
+            // Storage is per origin, so clear it before leaving the page
+            ((JavascriptExecutor) driver).executeScript(
+                    "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+            if (unwrap(driver) instanceof ChromeDriver) {
+                ((ChromeDriver) unwrap(driver)).executeCdpCommand("Network.clearBrowserCookies", Map.of());
+            } else {
+                driver.manage().deleteAllCookies();
+            }
+            
+            applyDefaultWindowSize(driver, headless);
+            driver.get("about:blank");
+            return true;
+        } catch (Exception e) {
+            EventLog.warning("DriverManager", "Failed to reset pooled browser, recycling it", e.getMessage());
+            return false;
+        }
     }
     
     /**
      * Create Chrome WebDriver with options
      */
     private static WebDriver createChromeDriver(boolean headless) {
-        WebDriverManager.chromedriver().setup();
+        DriverBinaries.chrome();
+        
+        ChromeOptions options = buildChromeOptions(headless);
         
+        // Record/replay proxy (see NetworkCache)
+        NetworkCache.configure(options);
+        
+        // Copy of the golden profile in warm-start mode (see ProfileSnapshots)
+        Path profile = ProfileSnapshots.prepare(options, headless);
+        ChromeDriver driver;
+        try {
+            driver = new ChromeDriver(options);
+        } catch (RuntimeException e) {
+            ProfileSnapshots.discard(profile);
+            throw e;
+        }
+        ProfileSnapshots.bind(driver, profile);
+        PageMetrics.installProbe(driver);
+        attachNetworkFilters(driver);
+        return driver;
+    }
+    
+    /**
+     * Chrome options used for every test session
+     */
+    public static ChromeOptions buildChromeOptions(boolean headless) {
         ChromeOptions options = new ChromeOptions();
         
         if (headless) {
@@ -99,14 +306,83 @@ public class DriverManager {
         options.addArguments("--disable-web-security");
         options.addArguments("--disable-features=VizDisplayCompositor");
         
-        return new ChromeDriver(options);
+        return options;
+    }
+    
+    /**
+     * Attach DevTools network filters (record/replay) to a Chrome session
+     */
+    private static void attachNetworkFilters(ChromeDriver driver) {
+        refreshNetworkFilters(driver);
+    }
+    
+    /**
+     * (Re)install the single DevTools interceptor of a browser: its stubs
+     * (see NetworkStubs) first, then the record/replay filter
+     */
+    static void refreshNetworkFilters(WebDriver decorated) {
+        WebDriver driver = unwrap(decorated);
+        NetworkInterceptor previous = networkInterceptors.remove(driver);
+        if (previous != null) {
+            previous.close();
+        }
+        
+        Filter filter = NetworkStubs.filterFor(driver);
+        Filter cacheFilter = NetworkCache.filter();
+        if (cacheFilter != null) {
+            filter = filter == null ? cacheFilter : filter.andThen(cacheFilter);
+        }
+        if (filter != null) {
+            // Lives as long as the DevTools connection, which closes on quit()
+            networkInterceptors.put(driver, new NetworkInterceptor(driver, filter));
+        }
+    }
+    
+    /**
+     * Whether WebDriver commands are timed and counted (-Ddriver.commandStats)
+     */
+    public static boolean isCommandStatsEnabled() {
+        return COMMAND_STATS;
+    }
+    
+    /**
+     * Whether a stub or the record/replay filter intercepts this browser's traffic
+     */
+    static boolean hasNetworkFilters(WebDriver decorated) {
+        return networkInterceptors.containsKey(unwrap(decorated));
+    }
+    
+    /**
+     * Re-attach DevTools to another tab of a Chrome session and reinstall its
+     * network filters there (see {@link BrowserContexts})
+     */
+    static void moveNetworkFilters(ChromeDriver driver, String windowHandle) {
+        detachNetworkFilters(driver);
+        driver.getDevTools().createSession(windowHandle);
+        refreshNetworkFilters(driver);
+    }
+    
+    /**
+     * Remove the network filters of a Chrome session and detach DevTools from its tab
+     */
+    private static void detachNetworkFilters(ChromeDriver driver) {
+        NetworkInterceptor previous = networkInterceptors.remove(driver);
+        if (previous != null) {
+            previous.close();
+        }
+        driver.getDevTools().disconnectSession();
     }
     
     /**
      * Create Firefox WebDriver with options
      */
     private static WebDriver createFirefoxDriver(boolean headless) {
-        WebDriverManager.firefoxdriver().setup();
+        DriverBinaries.firefox();
+        
+        if (NetworkCache.getMode() != NetworkCache.Mode.LIVE) {
+            EventLog.warning("DriverManager", "network.mode is only supported on Chrome, using live network",
+                    NetworkCache.getMode().name());
+        }
         
         FirefoxOptions options = new FirefoxOptions();
         
@@ -127,7 +403,12 @@ public class DriverManager {
     public static void quitDriver() {
         WebDriver driver = driverThreadLocal.get();
         if (driver != null) {
+            long start = Timeline.start();
+            NetworkStubs.clear(driver);
             driver.quit();
+            Timeline.end("quit", Timeline.DRIVER, start);
+            ProfileSnapshots.release(driver);
+            BrowserContexts.release(driver);
             driverThreadLocal.remove();
             waitThreadLocal.remove();
         }
@@ -137,7 +418,9 @@ public class DriverManager {
      * Navigate to URL
      */
     public static void navigateToUrl(String url) {
+        long start = Timeline.start();
         getDriver().get(url);
+        Timeline.end("navigate", Timeline.DRIVER, start);
     }
     
     /**
@@ -0,0 +1,329 @@
+package com.globalnews.utils;
+
+import org.openqa.selenium.WebDriver;
+
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Pool of warm browser sessions keyed by browser/headless
+ * Sessions are leased per test, reset on return and recycled after a number of uses
+ */
+public class DriverPool {
+
+    /**
+     * A pooled browser session and its usage count
+     */
+    public static class Session {
+        private final String key;
+        private final WebDriver driver;
+        private int uses;
+
+        Session(String key, WebDriver driver) {
+            this.key = key;
+            this.driver = driver;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public WebDriver getDriver() {
+            return driver;
+        }
+
+        public int getUses() {
+            return uses;
+        }
+    }
+
+    /**
+     * Semaphore whose permit count can be lowered while permits are held
+     */
+    private static class ResizableSemaphore extends Semaphore {
+        ResizableSemaphore(int permits) {
+            super(permits, true);
+        }
+
+        void shrink(int reduction) {
+            reducePermits(reduction);
+        }
+    }
+
+    private static final long SPARE_POLL_MILLIS = 100;
+
+    private final Map<String, Deque<Session>> idleSessions = new ConcurrentHashMap<>();
+    private final ResizableSemaphore permits;
+    private final int maxUses;
+    private volatile int maxSessions;
+    private final AtomicInteger leased = new AtomicInteger();
+    private final AtomicInteger reserved = new AtomicInteger();
+    private volatile Function<String, WebDriver> spares = key -> null;
+
+    // Statistics
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong recycled = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicLong launchFailures = new AtomicLong();
+
+    /**
+     * @param maxSessions Maximum number of live browsers across all keys: leased, idle
+     *                    and reserved ones. Idle sessions hold no permit, so one is
+     *                    quit before a launch on a miss would exceed the limit.
+     * @param maxUses Number of leases after which a session is quit instead of reused
+     */
+    public DriverPool(int maxSessions, int maxUses) {
+        this.maxSessions = Math.max(1, maxSessions);
+        this.permits = new ResizableSemaphore(this.maxSessions);
+        this.maxUses = Math.max(1, maxUses);
+    }
+
+    /**
+     * Change the maximum number of live sessions while tests are running.
+     * Leases above the new limit wait until enough sessions are released;
+     * idle sessions above it are quit.
+     */
+    public synchronized void setMaxSessions(int newMaxSessions) {
+        int target = Math.max(1, newMaxSessions);
+        int delta = target - maxSessions;
+        if (delta > 0) {
+            permits.release(delta);
+        } else if (delta < 0) {
+            permits.shrink(-delta);
+        }
+        maxSessions = target;
+        trimIdle(0);
+    }
+
+    public int getMaxSessions() {
+        return maxSessions;
+    }
+
+    /**
+     * Sessions currently leased by tests
+     */
+    public int getLeased() {
+        return leased.get();
+    }
+
+    /**
+     * Browsers launched outside a lease that hold a permit (see {@link BrowserPrespawner})
+     */
+    public int getReserved() {
+        return reserved.get();
+    }
+
+    public int getIdleCount() {
+        return idleSessions.values().stream().mapToInt(Deque::size).sum();
+    }
+
+    /**
+     * Browser launches that threw, a sign the machine is overloaded
+     */
+    public long getLaunchFailures() {
+        return launchFailures.get();
+    }
+
+    /**
+     * Where {@link #lease} looks for a browser launched ahead for a key, which already
+     * holds a reserved permit (see {@link BrowserPrespawner#takeReady})
+     * @param spares Returns a ready browser for the key and hands over its permit, or null
+     */
+    public void setSpares(Function<String, WebDriver> spares) {
+        this.spares = spares;
+    }
+
+    /**
+     * Lease a session for the given key, launching a new browser when none is idle.
+     * While every permit is taken, a browser launched ahead for the key takes over its
+     * reserved permit, so a spare browser never keeps a test waiting.
+     * @param key Pool key, e.g. "chrome:headless"
+     * @param factory Creates a new configured driver on a pool miss
+     */
+    public Session lease(String key, Supplier<WebDriver> factory) {
+        long start = System.nanoTime();
+        WebDriver spare = null;
+        try {
+            while (!permits.tryAcquire(SPARE_POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                spare = spares.apply(key);
+                if (spare != null) {
+                    reserved.decrementAndGet();
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a browser session", e);
+        }
+
+        try {
+            Session session = spare != null
+                    ? null
+                    : idleSessions.computeIfAbsent(key, k -> new ConcurrentLinkedDeque<>()).pollFirst();
+            if (spare != null) {
+                misses.incrementAndGet();
+                session = new Session(key, spare);
+            } else if (session != null) {
+                hits.incrementAndGet();
+            } else {
+                misses.incrementAndGet();
+                // Make room among the idle sessions of other keys for the browser about to start
+                trimIdle(1);
+                try {
+                    session = new Session(key, factory.get());
+                } catch (RuntimeException e) {
+                    launchFailures.incrementAndGet();
+                    throw e;
+                }
+            }
+            session.uses++;
+            leased.incrementAndGet();
+            recordWait(System.nanoTime() - start);
+            return session;
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Take a permit for a browser launched ahead of a lease, without waiting
+     * @return False when every permit is in use; launch nothing then
+     */
+    public boolean tryReserve() {
+        if (!permits.tryAcquire()) {
+            return false;
+        }
+        reserved.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Give back a permit taken by {@link #tryReserve}: the browser was quit, or was
+     * handed to a lease that holds its own permit
+     */
+    public void unreserve() {
+        reserved.decrementAndGet();
+        permits.release();
+    }
+
+    /**
+     * Return a leased session to the pool
+     * @param session Session previously returned by {@link #lease}
+     * @param healthy False when the test failed; the session is then recycled
+     * @param reset Resets browser state; returning false recycles the session
+     */
+    public void release(Session session, boolean healthy, Predicate<WebDriver> reset) {
+        try {
+            if (healthy && session.uses < maxUses && reset.test(session.driver)) {
+                idleSessions.computeIfAbsent(session.key, k -> new ConcurrentLinkedDeque<>()).offerFirst(session);
+            } else {
+                recycle(session);
+            }
+        } finally {
+            leased.decrementAndGet();
+            permits.release();
+        }
+        trimIdle(0);
+    }
+
+    /**
+     * Quit every idle session
+     */
+    public void shutdown() {
+        for (Deque<Session> sessions : idleSessions.values()) {
+            Session session;
+            while ((session = sessions.pollFirst()) != null) {
+                quitQuietly(session.driver);
+            }
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getRecycled() {
+        return recycled.get();
+    }
+
+    /**
+     * Fraction of leases served by an already running browser
+     */
+    public double getHitRate() {
+        long leases = hits.get() + misses.get();
+        return leases == 0 ? 0.0 : (double) hits.get() / leases;
+    }
+
+    public long getAverageWaitMillis() {
+        long leases = hits.get() + misses.get();
+        return leases == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalWaitNanos.get() / leases);
+    }
+
+    public long getMaxWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get());
+    }
+
+    /**
+     * One-line summary of pool statistics
+     */
+    public String summary() {
+        return String.format("leases=%d hits=%d misses=%d hitRate=%.1f%% recycled=%d avgWait=%dms maxWait=%dms",
+                hits.get() + misses.get(), hits.get(), misses.get(), getHitRate() * 100,
+                recycled.get(), getAverageWaitMillis(), getMaxWaitMillis());
+    }
+
+    /**
+     * Quit idle sessions that no longer fit under the session limit
+     * @param launching Browsers about to be launched that need room as well
+     */
+    private void trimIdle(int launching) {
+        for (Deque<Session> sessions : idleSessions.values()) {
+            while (getIdleCount() > Math.max(0, maxSessions - leased.get() - reserved.get() - launching)) {
+                Session session = sessions.pollLast();
+                if (session == null) {
+                    break;
+                }
+                recycle(session);
+            }
+        }
+    }
+
+    private void recycle(Session session) {
+        recycled.incrementAndGet();
+        quitQuietly(session.driver);
+    }
+
+    private void recordWait(long nanos) {
+        totalWaitNanos.addAndGet(nanos);
+        maxWaitNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    private static void quitQuietly(WebDriver driver) {
+        long start = Timeline.start();
+        try {
+            driver.quit();
+        } catch (Exception e) {
+            EventLog.warning("DriverPool", "Error while quitting pooled WebDriver", e.getMessage());
+        } finally {
+            ProfileSnapshots.release(driver);
+            BrowserContexts.release(driver);
+            Timeline.end("quit", Timeline.DRIVER, start);
+        }
+    }
+}
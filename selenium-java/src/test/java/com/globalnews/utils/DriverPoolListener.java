@@ -0,0 +1,26 @@
+package com.globalnews.utils;
+
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+/**
+ * Suite listener that shuts down pooled and pre-spawned browsers and reports their statistics
+ */
+public class DriverPoolListener implements ISuiteListener {
+    
+    @Override
+    public void onFinish(ISuite suite) {
+        DriverManager.shutdownPool();
+        
+        DriverPool pool = DriverManager.getPool();
+        System.out.println("🏊 Driver pool (" + suite.getName() + "): " + pool.summary());
+        System.out.println("🚀 Pre-spawned browsers (" + suite.getName() + "): "
+                + DriverManager.getPrespawner().summary());
+        if (ProfileSnapshots.getMode() == ProfileSnapshots.Mode.WARM) {
+            System.out.println("🧊 Browser profiles (" + suite.getName() + "): " + ProfileSnapshots.summary());
+        }
+        if (BrowserContexts.getCreated() > 0) {
+            System.out.println("🪟 Browser contexts (" + suite.getName() + "): " + BrowserContexts.summary());
+        }
+    }
+}
@@ -0,0 +1,338 @@
+package com.globalnews.utils;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Structured event log of the harness
+ * Events are written into a preallocated ring buffer (no allocation, no lock on
+ * the calling thread) and drained by a background thread to target/events.jsonl,
+ * one JSON object per line with time, thread, test, session and event fields.
+ * When the buffer is full new events are dropped and counted.
+ * Console output (-Devents.console): summary (failures and warnings only, default),
+ * all (every event in the old emoji format) or off.
+ */
+public final class EventLog {
+
+    /**
+     * Event types with their console icon; important ones are printed in summary mode
+     */
+    public enum Type {
+        DRIVER_ACQUIRED("🚀", false),
+        NAVIGATED("🌐", false),
+        DRIVER_RELEASED("🔄", false),
+        DRIVER_RESOLVED("🔧", false),
+        REPLAY_STARTED("📼", false),
+        TEST_PASSED("✅", false),
+        TEST_FAILED("❌", true),
+        STEP("✔️", false),
+        OBSERVED("📌", false),
+        UNSUPPORTED("⚠️", false),
+        WARNING("⚠️", true),
+        ERROR("❌", true);
+
+        private final String icon;
+        private final boolean important;
+
+        Type(String icon, boolean important) {
+            this.icon = icon;
+            this.important = important;
+        }
+    }
+
+    /**
+     * Test and session of the current thread, one mutable instance per thread
+     */
+    private static class Context {
+        String test;
+        String session;
+    }
+
+    private static final int CAPACITY = Integer.highestOneBit(Math.max(1024, Integer.getInteger("events.buffer", 65536)));
+    private static final int MASK = CAPACITY - 1;
+    private static final Path FILE = Paths.get(System.getProperty("events.file", "target/events.jsonl"));
+    private static final String CONSOLE = System.getProperty("events.console", "summary");
+    private static final long FLUSH_MILLIS = Integer.getInteger("events.flushMillis", 100);
+
+    // Ring buffer slots, published by storing sequence + 1
+    private static final long[] TIMES = new long[CAPACITY];
+    private static final Type[] TYPES = new Type[CAPACITY];
+    private static final Thread[] THREADS = new Thread[CAPACITY];
+    private static final String[] TESTS = new String[CAPACITY];
+    private static final String[] SESSIONS = new String[CAPACITY];
+    private static final String[] KEYS = new String[CAPACITY];
+    private static final String[] VALUES = new String[CAPACITY];
+    private static final long[] NUMBERS = new long[CAPACITY];
+    private static final AtomicLongArray PUBLISHED = new AtomicLongArray(CAPACITY);
+    private static final AtomicLong CLAIMED = new AtomicLong();
+    private static volatile long drained;
+
+    private static final ThreadLocal<Context> CONTEXT = ThreadLocal.withInitial(Context::new);
+    private static final AtomicLongArray COUNTS = new AtomicLongArray(Type.values().length);
+    private static final LongAdder DROPPED = new LongAdder();
+
+    private static final Object DRAIN_LOCK = new Object();
+    private static final StringBuilder LINE = new StringBuilder(256);
+    private static BufferedWriter writer;
+    private static boolean writerFailed;
+
+    static {
+        Thread drainer = new Thread(EventLog::drainLoop, "event-log-drain");
+        drainer.setDaemon(true);
+        drainer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(EventLog::flush, "event-log-shutdown"));
+    }
+
+    private EventLog() {
+    }
+
+    /**
+     * Attribute the current thread's events to a test until {@link #clearTest}
+     */
+    public static void bindTest(String testName) {
+        CONTEXT.get().test = testName;
+    }
+
+    /**
+     * Attribute the current thread's events to a browser session
+     */
+    public static void bindSession(String sessionId) {
+        CONTEXT.get().session = sessionId;
+    }
+
+    public static void clearTest() {
+        Context context = CONTEXT.get();
+        context.test = null;
+        context.session = null;
+    }
+
+    public static void event(Type type, String key) {
+        record(type, key, null, Long.MIN_VALUE);
+    }
+
+    public static void event(Type type, String key, String value) {
+        record(type, key, value, Long.MIN_VALUE);
+    }
+
+    public static void event(Type type, String key, long number) {
+        record(type, key, null, number);
+    }
+
+    /**
+     * A test step that completed, e.g. "News section layout test passed"
+     */
+    public static void step(String description) {
+        record(Type.STEP, description, null, Long.MIN_VALUE);
+    }
+
+    /**
+     * A value the test observed, e.g. observed("Page title", title)
+     */
+    public static void observed(String name, Object value) {
+        record(Type.OBSERVED, name, value == null ? null : value.toString(), Long.MIN_VALUE);
+    }
+
+    public static void observed(String name, long value) {
+        record(Type.OBSERVED, name, null, value);
+    }
+
+    /**
+     * @param source Component reporting the problem, e.g. "DriverPool"
+     */
+    public static void warning(String source, String message, String detail) {
+        record(Type.WARNING, source + ": " + message, detail, Long.MIN_VALUE);
+    }
+
+    public static void error(String source, String message, String detail) {
+        record(Type.ERROR, source + ": " + message, detail, Long.MIN_VALUE);
+    }
+
+    /**
+     * Number of events of a type recorded so far
+     */
+    public static long count(Type type) {
+        return COUNTS.get(type.ordinal());
+    }
+
+    public static long getDropped() {
+        return DROPPED.sum();
+    }
+
+    /**
+     * Write every published event to the file now
+     */
+    public static void flush() {
+        synchronized (DRAIN_LOCK) {
+            drainAvailable();
+            if (writer != null) {
+                try {
+                    writer.flush();
+                } catch (IOException e) {
+                    writerFailed = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Event counts per type, for the suite summary
+     */
+    public static String summary() {
+        StringBuilder summary = new StringBuilder();
+        for (Type type : Type.values()) {
+            long count = COUNTS.get(type.ordinal());
+            if (count > 0) {
+                summary.append(type.name().toLowerCase()).append('=').append(count).append(' ');
+            }
+        }
+        return summary.append("dropped=").append(DROPPED.sum()).append(" file=").append(FILE).toString();
+    }
+
+    private static void record(Type type, String key, String value, long number) {
+        COUNTS.incrementAndGet(type.ordinal());
+        long sequence;
+        do {
+            sequence = CLAIMED.get();
+            if (sequence - drained >= CAPACITY) {
+                DROPPED.increment();
+                return;
+            }
+        } while (!CLAIMED.compareAndSet(sequence, sequence + 1));
+
+        int slot = (int) (sequence & MASK);
+        Context context = CONTEXT.get();
+        TIMES[slot] = System.currentTimeMillis();
+        TYPES[slot] = type;
+        THREADS[slot] = Thread.currentThread();
+        TESTS[slot] = context.test;
+        SESSIONS[slot] = context.session;
+        KEYS[slot] = key;
+        VALUES[slot] = value;
+        NUMBERS[slot] = number;
+        PUBLISHED.lazySet(slot, sequence + 1);
+    }
+
+    private static void drainLoop() {
+        while (true) {
+            flush();
+            try {
+                Thread.sleep(FLUSH_MILLIS);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Consume published events in order; caller holds DRAIN_LOCK
+     */
+    private static void drainAvailable() {
+        long next = drained;
+        while (true) {
+            int slot = (int) (next & MASK);
+            if (PUBLISHED.get(slot) != next + 1) {
+                break;
+            }
+            write(slot);
+            // Release references so finished tests' strings can be collected
+            THREADS[slot] = null;
+            TESTS[slot] = null;
+            SESSIONS[slot] = null;
+            KEYS[slot] = null;
+            VALUES[slot] = null;
+            next++;
+            drained = next;
+        }
+    }
+
+    private static void write(int slot) {
+        Type type = TYPES[slot];
+        if ("all".equals(CONSOLE) || ("summary".equals(CONSOLE) && type.important)) {
+            printConsole(slot, type);
+        }
+        if (writerFailed) {
+            return;
+        }
+
+        StringBuilder line = LINE;
+        line.setLength(0);
+        line.append("{\"ts\":").append(TIMES[slot]);
+        appendField(line, "type", type.name());
+        appendField(line, "thread", THREADS[slot] == null ? null : THREADS[slot].getName());
+        appendField(line, "test", TESTS[slot]);
+        appendField(line, "session", SESSIONS[slot]);
+        appendField(line, "key", KEYS[slot]);
+        appendField(line, "value", VALUES[slot]);
+        if (NUMBERS[slot] != Long.MIN_VALUE) {
+            line.append(",\"n\":").append(NUMBERS[slot]);
+        }
+        line.append("}\n");
+
+        try {
+            if (writer == null) {
+                Files.createDirectories(FILE.toAbsolutePath().getParent());
+                writer = Files.newBufferedWriter(FILE, StandardCharsets.UTF_8);
+            }
+            writer.append(line);
+        } catch (IOException e) {
+            writerFailed = true;
+            System.err.println("⚠️ Event log disabled, cannot write " + FILE + ": " + e.getMessage());
+        }
+    }
+
+    private static void printConsole(int slot, Type type) {
+        StringBuilder text = new StringBuilder(type.icon).append(' ');
+        if (TESTS[slot] != null) {
+            text.append('[').append(TESTS[slot]).append("] ");
+        }
+        text.append(KEYS[slot]);
+        if (VALUES[slot] != null) {
+            text.append(": ").append(VALUES[slot]);
+        }
+        if (NUMBERS[slot] != Long.MIN_VALUE) {
+            text.append(": ").append(NUMBERS[slot]);
+        }
+        (type.important ? System.err : System.out).println(text);
+    }
+
+    private static void appendField(StringBuilder line, String name, String value) {
+        if (value == null) {
+            return;
+        }
+        line.append(",\"").append(name).append("\":\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    line.append("\\\"");
+                    break;
+                case '\\':
+                    line.append("\\\\");
+                    break;
+                case '\n':
+                    line.append("\\n");
+                    break;
+                case '\r':
+                    line.append("\\r");
+                    break;
+                case '\t':
+                    line.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        line.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        line.append(c);
+                    }
+            }
+        }
+        line.append('"');
+    }
+}
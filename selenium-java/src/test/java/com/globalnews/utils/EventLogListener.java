@@ -0,0 +1,16 @@
+package com.globalnews.utils;
+
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+/**
+ * Suite listener that flushes the event log and prints the event counts
+ */
+public class EventLogListener implements ISuiteListener {
+
+    @Override
+    public void onFinish(ISuite suite) {
+        EventLog.flush();
+        System.out.println("🧾 Events (" + suite.getName() + "): " + EventLog.summary());
+    }
+}
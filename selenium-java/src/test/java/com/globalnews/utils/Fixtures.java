@@ -0,0 +1,36 @@
+package com.globalnews.utils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Test fixtures shared with the Cypress suite
+ * Each file is read once per JVM and kept in memory for all sessions.
+ * Override the location with -Dfixtures.dir=&lt;dir&gt;.
+ */
+public final class Fixtures {
+
+    private static final Path FIXTURES_DIR = Paths.get(System.getProperty("fixtures.dir", "../cypress/fixtures"));
+    private static final Map<String, byte[]> CACHE = new ConcurrentHashMap<>();
+
+    private Fixtures() {
+    }
+
+    /**
+     * Fixture contents, e.g. load("noticias-de-ejemplo.json")
+     */
+    public static byte[] load(String name) {
+        return CACHE.computeIfAbsent(name, key -> {
+            try {
+                return Files.readAllBytes(FIXTURES_DIR.resolve(key));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Fixture not found: " + FIXTURES_DIR.resolve(key), e);
+            }
+        });
+    }
+}
@@ -0,0 +1,296 @@
+package com.globalnews.utils;
+
+import io.qameta.allure.Allure;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.interactions.Actions;
+import org.openqa.selenium.json.Json;
+import org.testng.ITestResult;
+import org.testng.Reporter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rendering smoothness of the globe while it is being rotated.
+ * {@link #start} injects a requestAnimationFrame sampler and a longtask
+ * PerformanceObserver; {@link #stop} reads the recorded frame deltas back in one
+ * script call. Each result is appended to target/frame-metrics.jsonl
+ * (-Dframes.file) so runs on different machines can be compared.
+ */
+public class FrameMetrics {
+
+    /**
+     * Frame interval of a 60 Hz display; a delta of more than 1.5 intervals drops frames
+     */
+    public static final double FRAME_BUDGET_MILLIS = 1000.0 / 60;
+
+    private static final Path FILE = Paths.get(System.getProperty("frames.file", "target/frame-metrics.jsonl"));
+
+    private static final String START_JS =
+            "if (window.__frameProbe) { window.__frameProbe.running = false; }"
+            + "var probe = {deltas: [], longTasks: [], running: true, startedAt: performance.now()};"
+            + "var last = null;"
+            + "function tick(now) {"
+            + "  if (!probe.running) return;"
+            + "  if (last !== null) probe.deltas.push(now - last);"
+            + "  last = now; requestAnimationFrame(tick);"
+            + "}"
+            + "requestAnimationFrame(tick);"
+            + "try {"
+            + "  probe.observer = new PerformanceObserver(function(list) {"
+            + "    list.getEntries().forEach(function(e) { probe.longTasks.push(e.duration); });"
+            + "  });"
+            + "  probe.observer.observe({entryTypes: ['longtask']});"
+            + "  probe.longTaskSupported = true;"
+            + "} catch (e) { probe.longTaskSupported = false; }"
+            + "window.__frameProbe = probe;"
+            + "return probe.longTaskSupported;";
+
+    private static final String STOP_JS =
+            "var probe = window.__frameProbe;"
+            + "if (!probe) return null;"
+            + "probe.running = false;"
+            + "if (probe.observer) {"
+            + "  probe.observer.takeRecords().forEach(function(e) { probe.longTasks.push(e.duration); });"
+            + "  probe.observer.disconnect();"
+            + "}"
+            + "window.__frameProbe = undefined;"
+            + "return {deltas: probe.deltas, longTasks: probe.longTasks,"
+            + "  longTaskSupported: probe.longTaskSupported, duration: performance.now() - probe.startedAt};";
+
+    private final double durationMillis;
+    private final double[] frameMillis;
+    private final int droppedFrames;
+    private final int longTaskCount;
+    private final double longTaskMillis;
+    private final boolean longTaskSupported;
+
+    private FrameMetrics(Map<String, Object> raw) {
+        this.durationMillis = number(raw.get("duration"));
+        this.frameMillis = numbers(raw.get("deltas"));
+        Arrays.sort(frameMillis);
+        int dropped = 0;
+        for (double delta : frameMillis) {
+            if (delta > FRAME_BUDGET_MILLIS * 1.5) {
+                dropped += (int) Math.round(delta / FRAME_BUDGET_MILLIS) - 1;
+            }
+        }
+        this.droppedFrames = dropped;
+        double[] longTasks = numbers(raw.get("longTasks"));
+        this.longTaskCount = longTasks.length;
+        this.longTaskMillis = Arrays.stream(longTasks).sum();
+        this.longTaskSupported = Boolean.TRUE.equals(raw.get("longTaskSupported"));
+    }
+
+    /**
+     * Start sampling frames on the driver's page, replacing any running probe
+     */
+    public static void start(WebDriver driver) {
+        ((JavascriptExecutor) driver).executeScript(START_JS);
+    }
+
+    /**
+     * Stop sampling and return what was recorded since {@link #start}
+     */
+    @SuppressWarnings("unchecked")
+    public static FrameMetrics stop(WebDriver driver) {
+        Object raw = ((JavascriptExecutor) driver).executeScript(STOP_JS);
+        if (!(raw instanceof Map)) {
+            throw new IllegalStateException("Frame probe was not started on this page");
+        }
+        return new FrameMetrics((Map<String, Object>) raw);
+    }
+
+    /**
+     * Rotate the globe with a continuous drag and measure rendering while it turns
+     * @param sweeps Number of left-right drag sweeps across the globe
+     */
+    public static FrameMetrics measureRotation(WebDriver driver, int sweeps) {
+        start(driver);
+        dragGlobe(driver, sweeps);
+        return stop(driver);
+    }
+
+    /**
+     * Drag the globe left and right in small steps, one pointer move per frame,
+     * as a single W3C action sequence so the browser sees an uninterrupted drag.
+     * The target is the globe's own svg (svg.cursor-grab) once it has drawn its
+     * countries, never an icon or spinner svg that happens to come first.
+     */
+    public static void dragGlobe(WebDriver driver, int sweeps) {
+        Waits.until(driver, ReadinessConditions.globeRendered(), 0);
+        WebElement globe = driver.findElement(By.cssSelector(ReadinessConditions.GLOBE_SVG));
+        int width = globe.getSize().getWidth();
+        int steps = 30;
+        int step = Math.max(1, width / 3 / steps);
+        Duration frame = Duration.ofMillis(Math.round(FRAME_BUDGET_MILLIS));
+
+        Actions drag = new Actions(driver).moveToElement(globe).clickAndHold();
+        for (int sweep = 0; sweep < sweeps; sweep++) {
+            int direction = sweep % 2 == 0 ? 1 : -1;
+            for (int i = 0; i < steps; i++) {
+                drag.moveByOffset(direction * step, 0).pause(frame);
+            }
+        }
+        drag.release().perform();
+    }
+
+    /**
+     * Length of the sampling window
+     */
+    public double getDurationMillis() {
+        return durationMillis;
+    }
+
+    /**
+     * Frames painted while sampling
+     */
+    public int getFrameCount() {
+        return frameMillis.length;
+    }
+
+    /**
+     * Frame time at the given percentile (0-100); 0 when no frames were sampled
+     */
+    public double percentileMillis(double percentile) {
+        if (frameMillis.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * frameMillis.length) - 1;
+        return frameMillis[Math.max(0, Math.min(frameMillis.length - 1, index))];
+    }
+
+    public double getMaxFrameMillis() {
+        return frameMillis.length == 0 ? 0 : frameMillis[frameMillis.length - 1];
+    }
+
+    /**
+     * Frames that should have been painted during slow frames at 60 Hz
+     */
+    public int getDroppedFrames() {
+        return droppedFrames;
+    }
+
+    /**
+     * Average frames per second over the sampling window
+     */
+    public double getFps() {
+        return durationMillis <= 0 ? 0 : frameMillis.length * 1000.0 / durationMillis;
+    }
+
+    public int getLongTaskCount() {
+        return longTaskCount;
+    }
+
+    /**
+     * Main-thread time spent in tasks over 50ms
+     */
+    public double getLongTaskMillis() {
+        return longTaskMillis;
+    }
+
+    /**
+     * False when the browser has no longtask entries (non-Chromium); the long-task totals are then 0
+     */
+    public boolean isLongTaskSupported() {
+        return longTaskSupported;
+    }
+
+    /**
+     * Metrics as an ordered map, for reports
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("durationMillis", round(durationMillis));
+        map.put("frames", frameMillis.length);
+        map.put("fps", round(getFps()));
+        map.put("p50FrameMillis", round(percentileMillis(50)));
+        map.put("p90FrameMillis", round(percentileMillis(90)));
+        map.put("p99FrameMillis", round(percentileMillis(99)));
+        map.put("maxFrameMillis", round(getMaxFrameMillis()));
+        map.put("droppedFrames", droppedFrames);
+        map.put("longTasks", longTaskCount);
+        map.put("longTaskMillis", round(longTaskMillis));
+        map.put("longTaskSupported", longTaskSupported);
+        return map;
+    }
+
+    /**
+     * Attach the metrics to the Allure report of the running test
+     */
+    public FrameMetrics attachToReport() {
+        Allure.addAttachment("Frame metrics", "application/json", new Json().toJson(toMap()), ".json");
+        return this;
+    }
+
+    /**
+     * Append the metrics, with the running test's name and a timestamp, as one JSON line,
+     * and record the frame times in the {@link MetricHistory}
+     */
+    public FrameMetrics export() {
+        MetricHistory.record("p50FrameMillis", percentileMillis(50));
+        MetricHistory.record("p90FrameMillis", percentileMillis(90));
+        MetricHistory.record("p99FrameMillis", percentileMillis(99));
+        MetricHistory.record("droppedFrames", droppedFrames);
+        MetricHistory.record("longTaskMillis", longTaskMillis);
+
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("timestamp", Instant.now().toString());
+        ITestResult result = Reporter.getCurrentTestResult();
+        line.put("test", result == null ? "unknown"
+                : result.getTestClass().getRealClass().getSimpleName() + "#" + result.getMethod().getMethodName());
+        line.putAll(toMap());
+        String json = new Json().toJson(line).replaceAll("\\s*\\n\\s*", " ") + System.lineSeparator();
+        synchronized (FrameMetrics.class) {
+            try {
+                if (FILE.getParent() != null) {
+                    Files.createDirectories(FILE.getParent());
+                }
+                Files.write(FILE, json.getBytes(StandardCharsets.UTF_8),
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            } catch (IOException e) {
+                EventLog.warning("FrameMetrics", "Could not write " + FILE, e.getMessage());
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("frames=%d fps=%.1f p50=%.1fms p90=%.1fms p99=%.1fms max=%.1fms dropped=%d longTasks=%d/%.0fms",
+                frameMillis.length, getFps(), percentileMillis(50), percentileMillis(90), percentileMillis(99),
+                getMaxFrameMillis(), droppedFrames, longTaskCount, longTaskMillis);
+    }
+
+    private static double[] numbers(Object value) {
+        List<Double> values = new ArrayList<>();
+        if (value instanceof List) {
+            for (Object item : (List<?>) value) {
+                values.add(number(item));
+            }
+        }
+        return values.stream().mapToDouble(Double::doubleValue).toArray();
+    }
+
+    private static double number(Object value) {
+        return value instanceof Number ? ((Number) value).doubleValue() : 0;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10) / 10.0;
+    }
+}
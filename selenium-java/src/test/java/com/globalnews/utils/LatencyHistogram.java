@@ -0,0 +1,105 @@
+package com.globalnews.utils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with log-linear microsecond buckets
+ * Each power of two is split into 8 buckets, so percentiles are within 12.5%;
+ * recording is one atomic increment per bucket plus the count, sum and max.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // Up to 2^40 microseconds, about 12 days
+    private static final int MAX_EXPONENT = 40;
+    private static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalMicros = new LongAdder();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    public void record(long nanos) {
+        long micros = Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos));
+        counts.incrementAndGet(bucketOf(micros));
+        count.increment();
+        totalMicros.add(micros);
+        maxMicros.accumulateAndGet(micros, Math::max);
+    }
+
+    /**
+     * Add all samples of another histogram
+     */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            long n = other.counts.get(i);
+            if (n > 0) {
+                counts.addAndGet(i, n);
+            }
+        }
+        count.add(other.count.sum());
+        totalMicros.add(other.totalMicros.sum());
+        maxMicros.accumulateAndGet(other.maxMicros.get(), Math::max);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public double getTotalMillis() {
+        return totalMicros.sum() / 1000.0;
+    }
+
+    public double getMaxMillis() {
+        return maxMicros.get() / 1000.0;
+    }
+
+    /**
+     * Latency at the given percentile (0-100), in milliseconds
+     */
+    public double percentileMillis(double percentile) {
+        long total = count.sum();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(total * percentile / 100.0));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(i), maxMicros.get()) / 1000.0;
+            }
+        }
+        return getMaxMillis();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("n=%d p50=%.1fms p90=%.1fms p99=%.1fms max=%.1fms total=%.0fms",
+                getCount(), percentileMillis(50), percentileMillis(90), percentileMillis(99),
+                getMaxMillis(), getTotalMillis());
+    }
+
+    static int bucketOf(long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) micros;
+        }
+        int exponent = Math.min(MAX_EXPONENT, 63 - Long.numberOfLeadingZeros(micros));
+        int sub = (int) ((micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1));
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    static long upperBoundOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long sub = bucket % SUB_BUCKETS;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        return (SUB_BUCKETS + sub) * width + width - 1;
+    }
+}
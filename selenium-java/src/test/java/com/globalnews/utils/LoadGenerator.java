@@ -0,0 +1,316 @@
+package com.globalnews.utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.Keys;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Browser-level load generator: N headless virtual users repeat the user journey
+ * (load, search a country, open the news panel, rotate the globe) against the app.
+ * Users start one by one over the ramp-up, all run during the steady state and
+ * stop one by one over the ramp-down. Run with
+ * <pre>
+ * mvn exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.globalnews.utils.LoadGenerator \
+ *     -Dload.users=20 -Dload.url=http://localhost:5173/
+ * </pre>
+ * The report (throughput per phase, latency percentiles and errors per step) is
+ * printed and written to target/load-report.txt.
+ */
+public class LoadGenerator {
+
+    static final String LAUNCH = "launch";
+    static final String[] STEPS = {"load", "search", "openPanel", "rotate"};
+    static final String[] PHASES = {"ramp-up", "steady", "ramp-down"};
+
+    private static final Path REPORT = Paths.get("target", "load-report.txt");
+
+    private final String url;
+    private final int users;
+    private final long rampUpMillis;
+    private final long steadyMillis;
+    private final long rampDownMillis;
+    private final long thinkMillis;
+    private final String browser;
+    private final List<String> countries;
+
+    private final Map<String, LatencyHistogram> stepLatency = new LinkedHashMap<>();
+    private final Map<String, AtomicLong> stepErrors = new LinkedHashMap<>();
+    private final AtomicLong[] phaseJourneys = new AtomicLong[PHASES.length];
+    private final AtomicLong[] phaseFailures = new AtomicLong[PHASES.length];
+    private volatile long startedAt;
+
+    public LoadGenerator(String url, int users, long rampUpMillis, long steadyMillis, long rampDownMillis) {
+        this.url = url;
+        this.users = Math.max(1, users);
+        this.rampUpMillis = Math.max(0, rampUpMillis);
+        this.steadyMillis = Math.max(0, steadyMillis);
+        this.rampDownMillis = Math.max(0, rampDownMillis);
+        this.thinkMillis = Long.getLong("load.thinkMillis", 1000);
+        this.browser = System.getProperty("load.browser", "chrome");
+        this.countries = Arrays.asList(System.getProperty("load.countries", "Mexico,France,Japan,Brazil").split(","));
+        stepLatency.put(LAUNCH, new LatencyHistogram());
+        stepErrors.put(LAUNCH, new AtomicLong());
+        for (String step : STEPS) {
+            stepLatency.put(step, new LatencyHistogram());
+            stepErrors.put(step, new AtomicLong());
+        }
+        for (int i = 0; i < PHASES.length; i++) {
+            phaseJourneys[i] = new AtomicLong();
+            phaseFailures[i] = new AtomicLong();
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        LoadGenerator generator = new LoadGenerator(
+                System.getProperty("load.url", BaseTest.BASE_URL),
+                Integer.getInteger("load.users", 10),
+                TimeUnit.SECONDS.toMillis(Long.getLong("load.rampUpSeconds", 30)),
+                TimeUnit.SECONDS.toMillis(Long.getLong("load.steadySeconds", 60)),
+                TimeUnit.SECONDS.toMillis(Long.getLong("load.rampDownSeconds", 15)));
+        try {
+            generator.run();
+        } finally {
+            DriverManager.shutdownPool();
+            EventLog.flush();
+        }
+        String report = generator.report();
+        System.out.print(report);
+        generator.writeReport(report);
+        boolean regressed = generator.recordHistory();
+
+        double maxErrorRate = Double.parseDouble(System.getProperty("load.maxErrorRate", "0.05"));
+        if (generator.getErrorRate() > maxErrorRate) {
+            System.out.printf("❌ Journey error rate %.1f%% is above %.1f%%%n",
+                    generator.getErrorRate() * 100, maxErrorRate * 100);
+            System.exit(1);
+        }
+        if (regressed) {
+            System.out.println("❌ Load metrics regressed against the baseline");
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Run all virtual users through the three phases and wait for them to finish
+     */
+    public void run() throws InterruptedException {
+        // Every virtual user holds a browser for the whole run
+        DriverManager.getPool().setMaxSessions(Math.max(users, DriverManager.getPool().getMaxSessions()));
+        System.out.printf("🌐 Load: %d users against %s (ramp-up %ds, steady %ds, ramp-down %ds)%n",
+                users, url, rampUpMillis / 1000, steadyMillis / 1000, rampDownMillis / 1000);
+
+        startedAt = System.currentTimeMillis();
+        List<Thread> threads = new ArrayList<>();
+        for (int user = 0; user < users; user++) {
+            long startOffset = rampUpMillis * user / users;
+            // The first user to start is the last to stop
+            long stopOffset = rampUpMillis + steadyMillis + rampDownMillis * (users - user) / users;
+            int id = user;
+            Thread thread = new Thread(() -> virtualUser(id, startOffset, stopOffset), "virtual-user-" + user);
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+
+    private void virtualUser(int id, long startOffset, long stopOffset) {
+        EventLog.bindTest("virtual-user-" + id);
+        try {
+            sleepUntil(startedAt + startOffset);
+            boolean leased = false;
+            int journey = 0;
+            while (System.currentTimeMillis() < startedAt + stopOffset) {
+                int phase = phaseAt(System.currentTimeMillis() - startedAt);
+                phaseJourneys[phase].incrementAndGet();
+                if (!leased) {
+                    leased = launch();
+                    if (!leased) {
+                        phaseFailures[phase].incrementAndGet();
+                        sleepUntil(Math.min(System.currentTimeMillis() + thinkMillis, startedAt + stopOffset));
+                        continue;
+                    }
+                }
+                String failedStep = journey(countries.get((id + journey++) % countries.size()));
+                if (failedStep != null) {
+                    phaseFailures[phase].incrementAndGet();
+                    // The page is in an unknown state; start the next journey on a fresh browser
+                    DriverManager.releaseDriver(true);
+                    leased = false;
+                }
+                sleepUntil(Math.min(System.currentTimeMillis() + thinkMillis, startedAt + stopOffset));
+            }
+            if (leased) {
+                DriverManager.releaseDriver(false);
+            }
+        } catch (RuntimeException e) {
+            EventLog.error("LoadGenerator", "Virtual user " + id + " stopped", e.getMessage());
+        } finally {
+            EventLog.clearTest();
+        }
+    }
+
+    /**
+     * Lease a browser for the current thread, timed as the "launch" step
+     * @return False when no browser could be started
+     */
+    private boolean launch() {
+        long start = System.nanoTime();
+        try {
+            DriverManager.acquireDriver(browser, true);
+            stepLatency.get(LAUNCH).record(System.nanoTime() - start);
+            return true;
+        } catch (RuntimeException e) {
+            stepErrors.get(LAUNCH).incrementAndGet();
+            EventLog.warning("LoadGenerator", "Browser launch failed", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * One user journey on the current thread's browser
+     * @return The step that failed, or null when the journey completed
+     */
+    private String journey(String country) {
+        WebDriver driver = DriverManager.getDriver();
+        for (String step : STEPS) {
+            long start = System.nanoTime();
+            try {
+                runStep(driver, step, country);
+                stepLatency.get(step).record(System.nanoTime() - start);
+            } catch (RuntimeException e) {
+                stepErrors.get(step).incrementAndGet();
+                EventLog.warning("LoadGenerator", "Step " + step + " failed", e.getClass().getSimpleName());
+                return step;
+            }
+        }
+        return null;
+    }
+
+    private void runStep(WebDriver driver, String step, String country) {
+        switch (step) {
+            case "load":
+                driver.get(url);
+                Waits.until(driver, ReadinessConditions.appReady().and(ReadinessConditions.globeRendered()), 0);
+                break;
+            case "search":
+                WebElement search = driver.findElement(By.cssSelector(ReadinessConditions.SEARCH_INPUT));
+                search.clear();
+                search.sendKeys(country);
+                Waits.until(driver, ReadinessConditions.inputValue(ReadinessConditions.SEARCH_INPUT, country), 0);
+                break;
+            case "openPanel":
+                driver.findElement(By.cssSelector(ReadinessConditions.SEARCH_INPUT)).sendKeys(Keys.ENTER);
+                Waits.until(driver, ReadinessConditions.panelOpen(), 0);
+                break;
+            case "rotate":
+                FrameMetrics.dragGlobe(driver, 2);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown step " + step);
+        }
+    }
+
+    private int phaseAt(long elapsedMillis) {
+        if (elapsedMillis < rampUpMillis) {
+            return 0;
+        }
+        return elapsedMillis < rampUpMillis + steadyMillis ? 1 : 2;
+    }
+
+    /**
+     * Failed journeys over all journeys started
+     */
+    public double getErrorRate() {
+        long journeys = 0;
+        long failures = 0;
+        for (int i = 0; i < PHASES.length; i++) {
+            journeys += phaseJourneys[i].get();
+            failures += phaseFailures[i].get();
+        }
+        return journeys == 0 ? 0 : (double) failures / journeys;
+    }
+
+    public Map<String, LatencyHistogram> getStepLatency() {
+        return stepLatency;
+    }
+
+    /**
+     * Throughput per phase, then latency and errors per step
+     */
+    public String report() {
+        long[] phaseMillis = {rampUpMillis, steadyMillis, rampDownMillis};
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%-12s %9s %9s %9s %12s%n", "phase", "journeys", "failed", "error %", "journeys/min"));
+        for (int i = 0; i < PHASES.length; i++) {
+            long journeys = phaseJourneys[i].get();
+            long failures = phaseFailures[i].get();
+            report.append(String.format("%-12s %9d %9d %9.1f %12.1f%n", PHASES[i], journeys, failures,
+                    journeys == 0 ? 0.0 : failures * 100.0 / journeys,
+                    phaseMillis[i] == 0 ? 0.0 : journeys * 60000.0 / phaseMillis[i]));
+        }
+        report.append(System.lineSeparator());
+        report.append(String.format("%-12s %7s %7s %9s %9s %9s %9s%n",
+                "step", "count", "errors", "p50 ms", "p90 ms", "p99 ms", "max ms"));
+        for (String step : stepLatency.keySet()) {
+            LatencyHistogram histogram = stepLatency.get(step);
+            report.append(String.format("%-12s %7d %7d %9.1f %9.1f %9.1f %9.1f%n", step, histogram.getCount(),
+                    stepErrors.get(step).get(), histogram.percentileMillis(50), histogram.percentileMillis(90),
+                    histogram.percentileMillis(99), histogram.getMaxMillis()));
+        }
+        return report.toString();
+    }
+
+    /**
+     * Keep the step percentiles and error rate in the {@link MetricHistory} and print regressions
+     * @return True when the regressions should fail the run (-Dmetrics.failOnRegression)
+     */
+    boolean recordHistory() {
+        for (Map.Entry<String, LatencyHistogram> entry : stepLatency.entrySet()) {
+            if (entry.getValue().getCount() > 0) {
+                MetricHistory.record("load." + entry.getKey() + ".p50Millis",
+                        entry.getValue().percentileMillis(50), url);
+                MetricHistory.record("load." + entry.getKey() + ".p90Millis",
+                        entry.getValue().percentileMillis(90), url);
+            }
+        }
+        MetricHistory.record("load.errorPercent", getErrorRate() * 100, url);
+        return MetricHistory.finishAndReport("load");
+    }
+
+    void writeReport(String report) {
+        try {
+            Files.createDirectories(REPORT.toAbsolutePath().getParent());
+            Files.write(REPORT, report.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            EventLog.warning("LoadGenerator", "Could not write " + REPORT, e.getMessage());
+        }
+    }
+
+    private static void sleepUntil(long epochMillis) {
+        long remaining = epochMillis - System.currentTimeMillis();
+        if (remaining <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(remaining);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
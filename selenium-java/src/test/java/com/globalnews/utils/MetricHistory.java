@@ -0,0 +1,393 @@
+package com.globalnews.utils;
+
+import org.openqa.selenium.json.Json;
+import org.testng.ITestResult;
+import org.testng.Reporter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Append-only history of performance measurements, one TSV file per metric in
+ * metric-history (-Dmetrics.dir), outside target/ so mvn clean keeps it. Each line carries the run id, git commit,
+ * browser and URL. At the end of a run every metric measured in it is compared with
+ * a rolling baseline of earlier runs on the same browser and URL: a regression is a
+ * run median more than {@code metrics.threshold} robust z-scores (median/MAD) and
+ * {@code metrics.minChangePercent} above the baseline median. All metrics are
+ * lower-is-better. The comparison is written to summary.json for dashboard.html.
+ */
+public final class MetricHistory {
+
+    private static final Path DIR = Paths.get(System.getProperty("metrics.dir", "metric-history"));
+    private static final int BASELINE_RUNS = Integer.getInteger("metrics.baselineRuns", 20);
+    private static final int MIN_RUNS = Integer.getInteger("metrics.minRuns", 5);
+    private static final double THRESHOLD = Double.parseDouble(System.getProperty("metrics.threshold", "3.5"));
+    private static final double MIN_CHANGE = Double.parseDouble(System.getProperty("metrics.minChangePercent", "10")) / 100;
+    private static final boolean FAIL_ON_REGRESSION =
+            Boolean.parseBoolean(System.getProperty("metrics.failOnRegression", "false"));
+    private static final int CHART_RUNS = 30;
+    private static final String HEADER = "# run\ttimestamp\tcommit\tbrowser\turl\tvalue\n";
+
+    // Scales the MAD to the standard deviation of a normal distribution
+    private static final double MAD_SCALE = 1.4826;
+
+    private static final String RUN_ID = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")
+            .withZone(ZoneOffset.UTC).format(Instant.now());
+    private static final String COMMIT = gitCommit();
+    private static final Queue<Sample> PENDING = new ConcurrentLinkedQueue<>();
+
+    private static final class Sample {
+        final String metric;
+        final String browser;
+        final String url;
+        final double value;
+        final String timestamp = Instant.now().toString();
+
+        Sample(String metric, String browser, String url, double value) {
+            this.metric = metric;
+            this.browser = browser;
+            this.url = url;
+            this.value = value;
+        }
+    }
+
+    /**
+     * One run's median for a metric
+     */
+    private static final class Run {
+        final String id;
+        final String commit;
+        final String browser;
+        final String url;
+        final List<Double> values = new ArrayList<>();
+
+        Run(String[] fields) {
+            this.id = fields[0];
+            this.commit = fields[2];
+            this.browser = fields[3];
+            this.url = fields[4];
+        }
+
+        double median() {
+            return MetricHistory.median(values);
+        }
+    }
+
+    /**
+     * Result of comparing the current run of one metric with its baseline
+     */
+    public static class Comparison {
+        private final String metric;
+        private final double current;
+        private final double baselineMedian;
+        private final double mad;
+        private final double score;
+        private final int baselineRuns;
+        private final boolean regressed;
+        private final List<Map<String, Object>> history;
+
+        Comparison(String metric, double current, List<Double> baseline, List<Map<String, Object>> history) {
+            this.metric = metric;
+            this.current = current;
+            this.baselineRuns = baseline.size();
+            this.baselineMedian = baseline.isEmpty() ? Double.NaN : median(baseline);
+            List<Double> deviations = new ArrayList<>();
+            for (double value : baseline) {
+                deviations.add(Math.abs(value - baselineMedian));
+            }
+            this.mad = baseline.isEmpty() ? Double.NaN : median(deviations);
+            // A perfectly stable baseline has MAD 0; 1% of the median keeps the score finite
+            double spread = Math.max(MAD_SCALE * mad, Math.abs(baselineMedian) * 0.01);
+            this.score = baselineRuns < MIN_RUNS || spread == 0 ? 0 : (current - baselineMedian) / spread;
+            this.regressed = baselineRuns >= MIN_RUNS && score > THRESHOLD
+                    && current > baselineMedian * (1 + MIN_CHANGE);
+            this.history = history;
+        }
+
+        public String getMetric() {
+            return metric;
+        }
+
+        public double getCurrent() {
+            return current;
+        }
+
+        public double getBaselineMedian() {
+            return baselineMedian;
+        }
+
+        public double getMad() {
+            return mad;
+        }
+
+        /**
+         * Robust z-score of the current run against the baseline
+         */
+        public double getScore() {
+            return score;
+        }
+
+        public int getBaselineRuns() {
+            return baselineRuns;
+        }
+
+        public boolean isRegressed() {
+            return regressed;
+        }
+
+        public String getStatus() {
+            if (baselineRuns < MIN_RUNS) {
+                return "insufficient";
+            }
+            return regressed ? "regressed" : "ok";
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("metric", metric);
+            map.put("status", getStatus());
+            map.put("current", current);
+            map.put("baselineMedian", Double.isNaN(baselineMedian) ? null : baselineMedian);
+            map.put("mad", Double.isNaN(mad) ? null : mad);
+            map.put("score", score);
+            map.put("baselineRuns", baselineRuns);
+            map.put("history", history);
+            return map;
+        }
+
+        @Override
+        public String toString() {
+            if (baselineRuns < MIN_RUNS) {
+                return String.format("%s: %.1f (baseline %d/%d runs)", metric, current, baselineRuns, MIN_RUNS);
+            }
+            return String.format("%s: %.1f vs median %.1f (MAD %.1f, z=%.1f)%s",
+                    metric, current, baselineMedian, mad, score, regressed ? " REGRESSED" : "");
+        }
+    }
+
+    private MetricHistory() {
+    }
+
+    /**
+     * Record a measurement of the suite's base URL for this run. Inside a test the
+     * metric is stored as "Class#method.metric" with the test's browser; outside a
+     * test as given.
+     */
+    public static void record(String metric, double value) {
+        record(metric, value, BaseTest.BASE_URL);
+    }
+
+    /**
+     * Record a measurement of another deployment, e.g. the -Dload.url of a load run,
+     * so it is compared with that URL's baseline only
+     */
+    public static void record(String metric, double value, String url) {
+        ITestResult result = Reporter.getCurrentTestResult();
+        String name = result != null && result.getMethod() != null
+                ? result.getTestClass().getRealClass().getSimpleName() + "#"
+                        + result.getMethod().getMethodName() + "." + metric
+                : metric;
+        add(name, value, url);
+    }
+
+    /**
+     * Record a measurement of a test from outside its method, e.g. in @AfterMethod,
+     * where TestNG's current result is the configuration method's
+     * @param test Test as "SimpleClass#method"
+     */
+    public static void recordTest(String test, String metric, double value) {
+        add(test + "." + metric, value, BaseTest.BASE_URL);
+    }
+
+    private static void add(String name, double value, String url) {
+        if (value < 0 || Double.isNaN(value)) {
+            return;
+        }
+        String browser = System.getProperty("browser", "chrome");
+        ITestResult result = Reporter.getCurrentTestResult();
+        if (result != null && result.getTestContext() != null) {
+            String parameter = result.getTestContext().getCurrentXmlTest().getParameter("browser");
+            browser = parameter == null ? browser : parameter;
+        }
+        PENDING.add(new Sample(name, ProfileSnapshots.label(browser), url, value));
+    }
+
+    /**
+     * {@link #finishRun} and print the regressions under a "📈" line
+     * @param source Suite or runner the measurements came from
+     * @return True when a metric regressed and -Dmetrics.failOnRegression=true, i.e. the build should fail
+     */
+    public static boolean finishAndReport(String source) {
+        List<Comparison> comparisons;
+        try {
+            comparisons = finishRun();
+        } catch (IOException e) {
+            EventLog.warning("MetricHistory", "Could not update the metric history", e.getMessage());
+            return false;
+        }
+        if (comparisons.isEmpty()) {
+            return false;
+        }
+
+        long regressed = comparisons.stream().filter(Comparison::isRegressed).count();
+        System.out.println("📈 Metric history (" + source + "): " + comparisons.size()
+                + " metrics, " + regressed + " regressed");
+        for (Comparison comparison : comparisons) {
+            if (comparison.isRegressed()) {
+                System.out.println("   " + comparison);
+            }
+        }
+        return regressed > 0 && FAIL_ON_REGRESSION;
+    }
+
+    /**
+     * Append this run's pending measurements and compare every metric they touch
+     * with its baseline; the comparison is also written to summary.json
+     */
+    public static synchronized List<Comparison> finishRun() throws IOException {
+        Map<String, List<Sample>> byMetric = new TreeMap<>();
+        Sample sample;
+        while ((sample = PENDING.poll()) != null) {
+            byMetric.computeIfAbsent(sample.metric, k -> new ArrayList<>()).add(sample);
+        }
+        if (byMetric.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Files.createDirectories(DIR);
+        List<Comparison> comparisons = new ArrayList<>();
+        for (Map.Entry<String, List<Sample>> entry : byMetric.entrySet()) {
+            Path file = DIR.resolve(fileName(entry.getKey()));
+            append(file, entry.getValue());
+            Sample first = entry.getValue().get(0);
+            comparisons.add(compare(entry.getKey(), file, first.browser, first.url));
+        }
+        writeSummary(comparisons);
+        return comparisons;
+    }
+
+    private static Comparison compare(String metric, Path file, String browser, String url) throws IOException {
+        Map<String, Run> runs = new LinkedHashMap<>();
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            String[] fields = line.split("\t");
+            if (line.startsWith("#") || fields.length < 6) {
+                continue;
+            }
+            try {
+                double value = Double.parseDouble(fields[5]);
+                runs.computeIfAbsent(fields[0], id -> new Run(fields)).values.add(value);
+            } catch (NumberFormatException e) {
+                EventLog.warning("MetricHistory", "Ignoring malformed line in " + file.getFileName(), line);
+            }
+        }
+
+        Run current = runs.get(RUN_ID);
+        List<Run> comparable = new ArrayList<>();
+        for (Run run : runs.values()) {
+            if (run != current && run.browser.equals(browser) && run.url.equals(url)) {
+                comparable.add(run);
+            }
+        }
+        List<Double> baseline = new ArrayList<>();
+        for (Run run : comparable.subList(Math.max(0, comparable.size() - BASELINE_RUNS), comparable.size())) {
+            baseline.add(run.median());
+        }
+
+        List<Map<String, Object>> history = new ArrayList<>();
+        comparable.add(current);
+        for (Run run : comparable.subList(Math.max(0, comparable.size() - CHART_RUNS), comparable.size())) {
+            Map<String, Object> point = new LinkedHashMap<>();
+            point.put("run", run.id);
+            point.put("commit", run.commit);
+            point.put("value", run.median());
+            history.add(point);
+        }
+        return new Comparison(metric, current.median(), baseline, history);
+    }
+
+    private static void append(Path file, List<Sample> samples) throws IOException {
+        StringBuilder lines = new StringBuilder();
+        if (!Files.exists(file)) {
+            lines.append(HEADER);
+        }
+        for (Sample sample : samples) {
+            lines.append(RUN_ID).append('\t').append(sample.timestamp).append('\t').append(COMMIT).append('\t')
+                    .append(sample.browser).append('\t').append(sample.url).append('\t').append(sample.value).append('\n');
+        }
+        Files.write(file, lines.toString().getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Write atomically so the dashboard never reads a partial file
+     */
+    private static void writeSummary(List<Comparison> comparisons) throws IOException {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("run", RUN_ID);
+        summary.put("commit", COMMIT);
+        summary.put("threshold", THRESHOLD);
+        summary.put("minChangePercent", MIN_CHANGE * 100);
+        List<Map<String, Object>> metrics = new ArrayList<>();
+        for (Comparison comparison : comparisons) {
+            metrics.add(comparison.toMap());
+        }
+        summary.put("metrics", metrics);
+
+        Path temp = Files.createTempFile(DIR, "summary", ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            writer.write(new Json().toJson(summary));
+        }
+        Files.move(temp, DIR.resolve("summary.json"), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static String fileName(String metric) {
+        return metric.replaceAll("[^A-Za-z0-9#._-]", "_") + ".tsv";
+    }
+
+    private static double median(List<Double> values) {
+        List<Double> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        int middle = sorted.size() / 2;
+        return sorted.size() % 2 == 1 ? sorted.get(middle) : (sorted.get(middle - 1) + sorted.get(middle)) / 2;
+    }
+
+    private static String gitCommit() {
+        String commit = System.getenv("GIT_COMMIT");
+        if (commit != null && !commit.isEmpty()) {
+            return commit;
+        }
+        try {
+            Process git = new ProcessBuilder("git", "rev-parse", "--short", "HEAD").redirectErrorStream(true).start();
+            try (InputStream in = git.getInputStream()) {
+                String output = new String(in.readAllBytes(), StandardCharsets.UTF_8).trim();
+                if (git.waitFor(5, TimeUnit.SECONDS) && git.exitValue() == 0 && !output.isEmpty()) {
+                    return output;
+                }
+            }
+        } catch (IOException e) {
+            EventLog.warning("MetricHistory", "Could not read the git commit", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "unknown";
+    }
+}
@@ -0,0 +1,19 @@
+package com.globalnews.utils;
+
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+/**
+ * Suite listener that stores the run's measurements in {@link MetricHistory} and
+ * prints regressions against the baseline. With -Dmetrics.failOnRegression=true a
+ * regression fails the build.
+ */
+public class MetricHistoryListener implements ISuiteListener {
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (MetricHistory.finishAndReport(suite.getName())) {
+            throw new IllegalStateException("Performance metrics regressed against the baseline");
+        }
+    }
+}
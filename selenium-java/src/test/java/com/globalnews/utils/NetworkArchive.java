@@ -0,0 +1,221 @@
+package com.globalnews.utils;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * On-disk archive of recorded HTTP responses
+ * Bodies are stored once per content hash under bodies/, index.tsv maps
+ * "METHOD host/path?query" keys to status, content type, body file and the
+ * response headers worth replaying (Location, caching, cookies...).
+ */
+public class NetworkArchive {
+
+    private static final String INDEX_FILE = "index.tsv";
+    private static final String BODIES_DIR = "bodies";
+    // Separates the "Name: value" headers in the last index column
+    private static final String HEADER_SEPARATOR = "\u001f";
+    // Framing headers the replay server writes itself from the stored body
+    private static final Set<String> NOT_REPLAYED = Set.of("content-type", "content-length", "content-encoding",
+            "transfer-encoding", "connection", "keep-alive", "access-control-allow-origin");
+
+    /**
+     * A recorded response
+     */
+    public static class Entry {
+        private final int status;
+        private final String contentType;
+        private final Path body;
+        private final long length;
+        private final List<String> headers;
+
+        Entry(int status, String contentType, Path body, long length, List<String> headers) {
+            this.status = status;
+            this.contentType = contentType;
+            this.body = body;
+            this.length = length;
+            this.headers = headers;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public Path getBody() {
+            return body;
+        }
+
+        public long getLength() {
+            return length;
+        }
+
+        /**
+         * Recorded response headers as "Name: value" lines, without the framing headers
+         */
+        public List<String> getHeaders() {
+            return headers;
+        }
+    }
+
+    private final Path directory;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private BufferedWriter indexWriter;
+
+    public NetworkArchive(Path directory) {
+        this.directory = directory;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Load the index of an existing archive; later lines win over earlier ones
+     */
+    public NetworkArchive load() throws IOException {
+        Path index = directory.resolve(INDEX_FILE);
+        if (!Files.exists(index)) {
+            throw new IOException("No network archive at " + index + ", record one with -Dnetwork.mode=record");
+        }
+
+        List<String> lines = Files.readAllLines(index, StandardCharsets.UTF_8);
+        for (String line : lines) {
+            String[] fields = line.split("\t", -1);
+            if (fields.length < 5) {
+                continue;
+            }
+            Path body = directory.resolve(BODIES_DIR).resolve(fields[4]);
+            // Archives recorded before headers were kept have five columns
+            List<String> headers = fields.length < 6 || fields[5].isEmpty()
+                    ? Collections.emptyList() : Arrays.asList(fields[5].split(HEADER_SEPARATOR));
+            entries.put(fields[0] + " " + fields[1],
+                    new Entry(Integer.parseInt(fields[2]), fields[3], body, Files.size(body), headers));
+        }
+        return this;
+    }
+
+    /**
+     * Find a recorded response
+     * @return the entry, or null when the request was never recorded
+     */
+    public Entry lookup(String method, String url) {
+        return entries.get(method.toUpperCase(Locale.ROOT) + " " + key(url));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Record a response body and append it to the index
+     * @param headers Response headers as "Name: value" lines; framing headers are left out
+     */
+    public synchronized void store(String method, String url, int status, String contentType,
+                                   List<String> headers, byte[] body) {
+        try {
+            if (indexWriter == null) {
+                Files.createDirectories(directory.resolve(BODIES_DIR));
+                indexWriter = Files.newBufferedWriter(directory.resolve(INDEX_FILE), StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+
+            String hash = sha256(body);
+            Path bodyFile = directory.resolve(BODIES_DIR).resolve(hash);
+            if (!Files.exists(bodyFile)) {
+                Path tmp = Files.createTempFile(directory, hash, ".tmp");
+                Files.write(tmp, body);
+                Files.move(tmp, bodyFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+
+            String methodKey = method.toUpperCase(Locale.ROOT);
+            String type = contentType == null ? "application/octet-stream" : contentType.replace('\t', ' ');
+            List<String> kept = replayable(headers);
+            indexWriter.write(methodKey + "\t" + key(url) + "\t" + status + "\t" + type + "\t" + hash
+                    + "\t" + String.join(HEADER_SEPARATOR, kept));
+            indexWriter.newLine();
+            indexWriter.flush();
+            entries.put(methodKey + " " + key(url), new Entry(status, type, bodyFile, body.length, kept));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to record " + url, e);
+        }
+    }
+
+    /**
+     * Headers to replay, flattened to one index column
+     */
+    private static List<String> replayable(List<String> headers) {
+        List<String> kept = new ArrayList<>();
+        for (String header : headers) {
+            int colon = header.indexOf(':');
+            if (colon > 0 && !NOT_REPLAYED.contains(header.substring(0, colon).trim().toLowerCase(Locale.ROOT))) {
+                kept.add(header.replaceAll("[\\t\\r\\n\\u001f]", " "));
+            }
+        }
+        return kept;
+    }
+
+    /**
+     * Close the index file
+     */
+    public synchronized void close() throws IOException {
+        if (indexWriter != null) {
+            indexWriter.close();
+            indexWriter = null;
+        }
+    }
+
+    /**
+     * Archive key for a URL: host, path and query without scheme, port or fragment,
+     * so a request recorded over https can be replayed over plain http
+     */
+    static String key(String url) {
+        URI uri;
+        try {
+            uri = URI.create(url);
+        } catch (IllegalArgumentException e) {
+            // Not a strict RFC 3986 URI; fall back to stripping the scheme
+            int schemeEnd = url.indexOf("://");
+            return schemeEnd < 0 ? url : url.substring(schemeEnd + 3);
+        }
+        String host = uri.getHost() == null ? "" : uri.getHost().toLowerCase(Locale.ROOT);
+        String path = uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath();
+        return host + path + (uri.getRawQuery() == null ? "" : "?" + uri.getRawQuery());
+    }
+
+    /**
+     * Hex SHA-256 of a body, the content address of stored files
+     */
+    static String sha256(byte[] data) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(data);
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.globalnews.utils;
+
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.Filter;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Record-and-replay network cache
+ * <ul>
+ *   <li>live: the browser talks to the real network (default)</li>
+ *   <li>record: every response the browser receives is stored in a {@link NetworkArchive}</li>
+ *   <li>replay: the browser is proxied to a {@link ReplayServer} serving the archive, no network</li>
+ * </ul>
+ * Select with -Dnetwork.mode=record|replay and -Dnetwork.archive=&lt;dir&gt;. Chrome only.
+ * The archive lives outside target/ by default so that mvn clean keeps the recording.
+ */
+public final class NetworkCache {
+
+    public enum Mode { LIVE, RECORD, REPLAY }
+
+    private static final Mode MODE = Mode.valueOf(
+            System.getProperty("network.mode", "live").toUpperCase(Locale.ROOT));
+    private static final Path ARCHIVE_DIR = Paths.get(
+            System.getProperty("network.archive", "network-archive"));
+
+    private static NetworkArchive archive;
+    private static ReplayServer server;
+
+    private NetworkCache() {
+    }
+
+    public static Mode getMode() {
+        return MODE;
+    }
+
+    /**
+     * Add the proxy arguments needed for replay mode
+     */
+    public static void configure(ChromeOptions options) {
+        if (MODE == Mode.REPLAY) {
+            options.addArguments("--proxy-server=http://127.0.0.1:" + replayServer().getPort());
+            options.addArguments("--proxy-bypass-list=<-loopback>");
+        }
+    }
+
+    /**
+     * DevTools filter for the current mode, or null in live mode
+     * Record captures each response body; replay downgrades https requests to
+     * http so the proxied replay server can answer them without TLS.
+     */
+    public static Filter filter() {
+        switch (MODE) {
+            case RECORD:
+                NetworkArchive recording = archive();
+                return next -> req -> {
+                    HttpResponse res = next.execute(req);
+                    byte[] body = Contents.bytes(res.getContent());
+                    List<String> headers = new ArrayList<>();
+                    res.forEachHeader((name, value) -> headers.add(name + ": " + value));
+                    recording.store(req.getMethod().name(), req.getUri(), res.getStatus(),
+                            res.getHeader("Content-Type"), headers, body);
+                    res.setContent(Contents.bytes(body));
+                    return res;
+                };
+            case REPLAY:
+                return next -> req -> {
+                    if (!req.getUri().startsWith("https://")) {
+                        return next.execute(req);
+                    }
+                    HttpRequest plain = new HttpRequest(req.getMethod(),
+                            "http://" + req.getUri().substring("https://".length()));
+                    req.forEachHeader(plain::addHeader);
+                    plain.setContent(req.getContent());
+                    return next.execute(plain);
+                };
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Stop the replay server and close the archive
+     */
+    public static synchronized void shutdown() {
+        try {
+            if (server != null) {
+                server.close();
+            }
+            if (archive != null) {
+                archive.close();
+            }
+        } catch (IOException e) {
+            EventLog.warning("NetworkCache", "Error while closing network cache", e.getMessage());
+        }
+    }
+
+    /**
+     * One-line summary of the cache activity, or null in live mode
+     */
+    public static synchronized String summary() {
+        if (MODE == Mode.RECORD && archive != null) {
+            return "recorded " + archive.size() + " responses to " + archive.getDirectory();
+        }
+        if (MODE == Mode.REPLAY && server != null) {
+            return String.format("served=%d missing=%d bytes=%d from %s",
+                    server.getHits(), server.getMisses(), server.getBytesServed(), archive.getDirectory());
+        }
+        return null;
+    }
+
+    private static synchronized NetworkArchive archive() {
+        if (archive == null) {
+            archive = new NetworkArchive(ARCHIVE_DIR);
+        }
+        return archive;
+    }
+
+    private static synchronized ReplayServer replayServer() {
+        if (server == null) {
+            try {
+                server = ReplayServer.start(archive().load());
+                EventLog.event(EventLog.Type.REPLAY_STARTED, "port " + server.getPort(), archive.size() + " responses");
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to start replay server", e);
+            }
+        }
+        return server;
+    }
+}
@@ -0,0 +1,19 @@
+package com.globalnews.utils;
+
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+/**
+ * Suite listener that closes the network archive and reports record/replay activity
+ */
+public class NetworkCacheListener implements ISuiteListener {
+
+    @Override
+    public void onFinish(ISuite suite) {
+        String summary = NetworkCache.summary();
+        NetworkCache.shutdown();
+        if (summary != null) {
+            System.out.println("📼 Network cache (" + NetworkCache.getMode() + "): " + summary);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.globalnews.utils;
+
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * One intercepted route, the Java counterpart of cy.intercept(method, url, response)
+ * Without a status or body the real response is passed through, so a stub can
+ * also just add latency or throttle bandwidth.
+ */
+public class NetworkStub {
+
+    private final String method;
+    private final String urlPattern;
+    private final Pattern glob;
+
+    private Integer status;
+    private byte[] body;
+    private String contentType = "application/json";
+    private Duration delay = Duration.ZERO;
+    private long bytesPerSecond;
+
+    private final AtomicInteger hits = new AtomicInteger();
+
+    NetworkStub(String method, String urlPattern) {
+        this.method = method.toUpperCase(Locale.ROOT);
+        this.urlPattern = urlPattern;
+        this.glob = urlPattern.contains("*") ? toRegex(urlPattern) : null;
+    }
+
+    /**
+     * Respond with this status code instead of calling the backend
+     */
+    public NetworkStub withStatus(int statusCode) {
+        this.status = statusCode;
+        return this;
+    }
+
+    /**
+     * Respond with this body instead of calling the backend
+     */
+    public NetworkStub withBody(String text) {
+        this.body = text.getBytes(StandardCharsets.UTF_8);
+        return this;
+    }
+
+    /**
+     * Respond with a fixture file, see {@link Fixtures}
+     */
+    public NetworkStub withFixture(String fixtureName) {
+        this.body = Fixtures.load(fixtureName);
+        return this;
+    }
+
+    public NetworkStub withContentType(String type) {
+        this.contentType = type;
+        return this;
+    }
+
+    /**
+     * Added latency before the response is delivered
+     */
+    public NetworkStub withDelay(Duration latency) {
+        this.delay = latency;
+        return this;
+    }
+
+    /**
+     * Deliver the response body at this rate
+     */
+    public NetworkStub withBandwidth(long bytesPerSec) {
+        this.bytesPerSecond = bytesPerSec;
+        return this;
+    }
+
+    /**
+     * Activate the stub on the current thread's browser
+     */
+    public NetworkStub register() {
+        NetworkStubs.register(DriverManager.getDriver(), this);
+        return this;
+    }
+
+    /**
+     * Number of requests this stub has answered
+     */
+    public int getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * Block until the stub has answered at least one request (like cy.wait('@alias'))
+     * @throws TimeoutException if no matching request was answered within the timeout
+     */
+    public void waitForHit(Duration timeout) {
+        Waits.until(new WaitCondition("stub hit " + this, timeout, driver -> hits.get() > 0));
+    }
+
+    boolean matches(HttpRequest request) {
+        if (!method.equals("*") && !method.equals(request.getMethod().name())) {
+            return false;
+        }
+        String url = request.getUri();
+        if (glob != null) {
+            return glob.matcher(url).matches();
+        }
+        int query = url.indexOf('?');
+        String withoutQuery = query < 0 ? url : url.substring(0, query);
+        return withoutQuery.endsWith(urlPattern) || url.equals(urlPattern);
+    }
+
+    /**
+     * Produce the response for a matching request
+     * @param backend Calls the real backend when the stub only shapes the response
+     */
+    HttpResponse respond(HttpRequest request, Function<HttpRequest, HttpResponse> backend) {
+        sleep(delay.toMillis());
+
+        HttpResponse response;
+        byte[] payload;
+        if (status == null && body == null) {
+            response = backend.apply(request);
+            payload = Contents.bytes(response.getContent());
+        } else {
+            payload = body == null ? new byte[0] : body;
+            response = new HttpResponse()
+                    .setStatus(status == null ? 200 : status)
+                    .setHeader("Content-Type", contentType)
+                    .setHeader("Access-Control-Allow-Origin", "*");
+        }
+
+        if (bytesPerSecond > 0) {
+            sleep(payload.length * 1000L / bytesPerSecond);
+        }
+        response.setContent(Contents.bytes(payload));
+        // Counted once answered, so waitForHit returns after the delay and throttling
+        hits.incrementAndGet();
+        return response;
+    }
+
+    @Override
+    public String toString() {
+        return method + " " + urlPattern;
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Glob to regex: ** matches anything, * matches within one path segment
+     */
+    private static Pattern toRegex(String pattern) {
+        StringBuilder regex = new StringBuilder();
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '*' && i + 1 < pattern.length() && pattern.charAt(i + 1) == '*') {
+                regex.append(".*");
+                i++;
+            } else if (c == '*') {
+                regex.append("[^/]*");
+            } else {
+                regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return Pattern.compile(pattern.startsWith("http") ? regex.toString() : ".*" + regex);
+    }
+}
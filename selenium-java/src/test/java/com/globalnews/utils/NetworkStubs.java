@@ -0,0 +1,90 @@
+package com.globalnews.utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.remote.http.Filter;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Network interception API for the Java suite, equivalent to cy.intercept
+ * <pre>
+ * NetworkStubs.intercept("GET", "/news_data.json").withStatus(500).register();
+ * DriverManager.getDriver().navigate().refresh();
+ * </pre>
+ * Stubs belong to the browser they were registered on and are removed when the
+ * test releases it. Requires a Chrome session (DevTools).
+ */
+public final class NetworkStubs {
+
+    private static final Map<WebDriver, List<NetworkStub>> STUBS = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private NetworkStubs() {
+    }
+
+    /**
+     * Start describing a stub for requests matching the method and URL pattern
+     * @param method HTTP method, or "*" for any
+     * @param urlPattern URL suffix such as "/news_data.json", or a glob with * and **
+     */
+    public static NetworkStub intercept(String method, String urlPattern) {
+        return new NetworkStub(method, urlPattern);
+    }
+
+    /**
+     * Whether the current thread's browser supports interception
+     */
+    public static boolean isSupported() {
+        return DriverManager.unwrap(DriverManager.getDriver()) instanceof HasDevTools;
+    }
+
+    static void register(WebDriver decorated, NetworkStub stub) {
+        WebDriver driver = DriverManager.unwrap(decorated);
+        if (!(driver instanceof HasDevTools)) {
+            throw new UnsupportedOperationException("Network interception requires a Chrome session");
+        }
+
+        boolean first;
+        synchronized (STUBS) {
+            List<NetworkStub> stubs = STUBS.computeIfAbsent(driver, d -> new CopyOnWriteArrayList<>());
+            first = stubs.isEmpty();
+            // Latest registration wins, as with cy.intercept
+            stubs.add(0, stub);
+        }
+        if (first) {
+            DriverManager.refreshNetworkFilters(driver);
+        }
+    }
+
+    /**
+     * Remove all stubs from a browser
+     */
+    static void clear(WebDriver driver) {
+        List<NetworkStub> removed = STUBS.remove(DriverManager.unwrap(driver));
+        if (removed != null && !removed.isEmpty()) {
+            DriverManager.refreshNetworkFilters(driver);
+        }
+    }
+
+    /**
+     * DevTools filter answering requests for the browser's stubs, or null when it has none
+     */
+    static Filter filterFor(WebDriver driver) {
+        List<NetworkStub> stubs = STUBS.get(DriverManager.unwrap(driver));
+        if (stubs == null || stubs.isEmpty()) {
+            return null;
+        }
+        return next -> req -> {
+            for (NetworkStub stub : stubs) {
+                if (stub.matches(req)) {
+                    return stub.respond(req, next::execute);
+                }
+            }
+            return next.execute(req);
+        };
+    }
+}
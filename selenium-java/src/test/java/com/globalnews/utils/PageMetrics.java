@@ -0,0 +1,222 @@
+package com.globalnews.utils;
+
+import io.qameta.allure.Allure;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.json.Json;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Browser-side page load metrics from the Navigation Timing, Paint Timing and
+ * Resource Timing APIs, read with a single script call once the load event has ended.
+ * All times are milliseconds relative to navigation start; missing values are -1.
+ */
+public class PageMetrics {
+
+    /**
+     * Records when the globe first draws a country (not when any icon or spinner svg
+     * appears). Installed on Chrome sessions with Page.addScriptToEvaluateOnNewDocument
+     * so it runs before the app's own scripts.
+     */
+    static final String GLOBE_PROBE_JS =
+            "(function() {"
+            + "  if (window.__globeProbe) return; window.__globeProbe = true;"
+            + "  new MutationObserver(function(mutations, observer) {"
+            + "    if (document.querySelector('" + ReadinessConditions.GLOBE_SVG + " "
+            + ReadinessConditions.COUNTRY_PATH + "')) {"
+            + "      window.__globeVisibleAt = performance.now(); observer.disconnect();"
+            + "    }"
+            + "  }).observe(document, {childList: true, subtree: true});"
+            + "})();";
+
+    private static final String COLLECT_JS =
+            "var nav = performance.getEntriesByType('navigation')[0];"
+            + "if (!nav || nav.loadEventEnd === 0) return null;"
+            + "var paints = {};"
+            + "performance.getEntriesByType('paint').forEach(function(p) { paints[p.name] = p.startTime; });"
+            + "var resources = performance.getEntriesByType('resource');"
+            + "var bytes = nav.transferSize || 0;"
+            + "resources.forEach(function(r) { bytes += r.transferSize || 0; });"
+            + "var slowest = resources.slice().sort(function(a, b) { return b.duration - a.duration; }).slice(0, 5)"
+            + "  .map(function(r) { return r.name + ' ' + Math.round(r.duration) + 'ms'; });"
+            + "return {"
+            + "  dns: nav.domainLookupEnd - nav.domainLookupStart,"
+            + "  connect: nav.connectEnd - nav.connectStart,"
+            + "  ttfb: nav.responseStart - nav.startTime,"
+            + "  domContentLoaded: nav.domContentLoadedEventEnd - nav.startTime,"
+            + "  load: nav.loadEventEnd - nav.startTime,"
+            + "  firstPaint: paints['first-paint'] === undefined ? -1 : paints['first-paint'],"
+            + "  firstContentfulPaint: paints['first-contentful-paint'] === undefined ? -1 : paints['first-contentful-paint'],"
+            + "  globeVisible: window.__globeVisibleAt === undefined ? -1 : window.__globeVisibleAt,"
+            + "  resourceCount: resources.length,"
+            + "  transferBytes: bytes,"
+            + "  slowestResources: slowest"
+            + "};";
+
+    private final double dnsMillis;
+    private final double connectMillis;
+    private final double ttfbMillis;
+    private final double domContentLoadedMillis;
+    private final double loadMillis;
+    private final double firstPaintMillis;
+    private final double firstContentfulPaintMillis;
+    private final double globeVisibleMillis;
+    private final long resourceCount;
+    private final long transferBytes;
+    private final List<String> slowestResources;
+
+    private PageMetrics(Map<String, Object> raw) {
+        this.dnsMillis = number(raw, "dns");
+        this.connectMillis = number(raw, "connect");
+        this.ttfbMillis = number(raw, "ttfb");
+        this.domContentLoadedMillis = number(raw, "domContentLoaded");
+        this.loadMillis = number(raw, "load");
+        this.firstPaintMillis = number(raw, "firstPaint");
+        this.firstContentfulPaintMillis = number(raw, "firstContentfulPaint");
+        this.globeVisibleMillis = number(raw, "globeVisible");
+        this.resourceCount = (long) number(raw, "resourceCount");
+        this.transferBytes = (long) number(raw, "transferBytes");
+        List<String> slowest = new ArrayList<>();
+        Object names = raw.get("slowestResources");
+        if (names instanceof List) {
+            for (Object name : (List<?>) names) {
+                slowest.add(String.valueOf(name));
+            }
+        }
+        this.slowestResources = Collections.unmodifiableList(slowest);
+    }
+
+    /**
+     * Install the globe probe on a new Chrome session
+     */
+    static void installProbe(ChromeDriver driver) {
+        driver.executeCdpCommand("Page.addScriptToEvaluateOnNewDocument", Map.of("source", GLOBE_PROBE_JS));
+    }
+
+    /**
+     * Collect metrics for the current thread's page
+     */
+    public static PageMetrics collect() {
+        return collect(DriverManager.getDriver());
+    }
+
+    /**
+     * Wait for the load event to finish, then read all metrics in one script call
+     */
+    @SuppressWarnings("unchecked")
+    public static PageMetrics collect(WebDriver driver) {
+        AtomicReference<Map<String, Object>> raw = new AtomicReference<>();
+        Waits.until(driver, WaitCondition.of("navigationTiming", d -> {
+            raw.set((Map<String, Object>) ((JavascriptExecutor) d).executeScript(COLLECT_JS));
+            return raw.get() != null;
+        }), 0);
+        PageMetrics metrics = new PageMetrics(raw.get());
+        PerformanceBudgets.record(metrics);
+        return metrics;
+    }
+
+    public double getDnsMillis() {
+        return dnsMillis;
+    }
+
+    public double getConnectMillis() {
+        return connectMillis;
+    }
+
+    /**
+     * Time to first byte of the document
+     */
+    public double getTtfbMillis() {
+        return ttfbMillis;
+    }
+
+    public double getDomContentLoadedMillis() {
+        return domContentLoadedMillis;
+    }
+
+    /**
+     * End of the load event
+     */
+    public double getLoadMillis() {
+        return loadMillis;
+    }
+
+    public double getFirstPaintMillis() {
+        return firstPaintMillis;
+    }
+
+    public double getFirstContentfulPaintMillis() {
+        return firstContentfulPaintMillis;
+    }
+
+    /**
+     * First globe path drawn; -1 when the probe is not installed (non-Chrome) or there is no globe
+     */
+    public double getGlobeVisibleMillis() {
+        return globeVisibleMillis;
+    }
+
+    public long getResourceCount() {
+        return resourceCount;
+    }
+
+    /**
+     * Bytes transferred for the document and all resources
+     */
+    public long getTransferBytes() {
+        return transferBytes;
+    }
+
+    /**
+     * The five slowest resources as "url duration"
+     */
+    public List<String> getSlowestResources() {
+        return slowestResources;
+    }
+
+    /**
+     * Metrics as an ordered map, for reports
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("dnsMillis", dnsMillis);
+        map.put("connectMillis", connectMillis);
+        map.put("ttfbMillis", ttfbMillis);
+        map.put("domContentLoadedMillis", domContentLoadedMillis);
+        map.put("loadMillis", loadMillis);
+        map.put("firstPaintMillis", firstPaintMillis);
+        map.put("firstContentfulPaintMillis", firstContentfulPaintMillis);
+        map.put("globeVisibleMillis", globeVisibleMillis);
+        map.put("resourceCount", resourceCount);
+        map.put("transferBytes", transferBytes);
+        map.put("slowestResources", slowestResources);
+        return map;
+    }
+
+    /**
+     * Attach the metrics to the Allure report of the running test
+     */
+    public PageMetrics attachToReport() {
+        Allure.addAttachment("Page metrics", "application/json", new Json().toJson(toMap()), ".json");
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("dns=%.0fms ttfb=%.0fms dcl=%.0fms load=%.0fms fcp=%.0fms globe=%.0fms resources=%d bytes=%d",
+                dnsMillis, ttfbMillis, domContentLoadedMillis, loadMillis, firstContentfulPaintMillis,
+                globeVisibleMillis, resourceCount, transferBytes);
+    }
+
+    private static double number(Map<String, Object> raw, String key) {
+        Object value = raw.get(key);
+        return value instanceof Number ? ((Number) value).doubleValue() : -1;
+    }
+}
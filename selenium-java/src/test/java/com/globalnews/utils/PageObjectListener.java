@@ -0,0 +1,19 @@
+package com.globalnews.utils;
+
+import com.globalnews.pages.BasePage;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+/**
+ * Suite listener that reports element cache hits and lookups of the page objects
+ */
+public class PageObjectListener implements ISuiteListener {
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (BasePage.getSuiteResolutions() == 0) {
+            return;
+        }
+        System.out.println("🧭 Page objects (" + suite.getName() + "): " + BasePage.suiteSummary());
+    }
+}
@@ -0,0 +1,50 @@
+package com.globalnews.utils;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Metric limits for a test, checked by {@link PerformanceBudgetListener} after the
+ * test method returns. A negative limit means no budget for that metric.
+ * Limits can be overridden per environment, see {@link PerformanceBudgets}.
+ * <pre>
+ * &#64;PerformanceBudget(loadMillis = 10000, firstContentfulPaintMillis = 4000)
+ * </pre>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface PerformanceBudget {
+
+    /**
+     * End of the load event, from {@link PageMetrics}
+     */
+    long loadMillis() default -1;
+
+    /**
+     * First contentful paint, from {@link PageMetrics}
+     */
+    long firstContentfulPaintMillis() default -1;
+
+    /**
+     * Time from submitting a search to the news panel being open,
+     * recorded with {@link PerformanceBudgets#measure}
+     */
+    long newsPanelOpenMillis() default -1;
+
+    /**
+     * WebDriver commands sent by the test, including setup, from {@link CommandLatency}
+     */
+    long commandCount() default -1;
+
+    /**
+     * Bytes transferred for the document and its resources, from {@link PageMetrics}
+     */
+    long transferBytes() default -1;
+
+    /**
+     * Only log a warning when a limit is exceeded instead of failing the test
+     */
+    boolean warnOnly() default false;
+}
@@ -0,0 +1,95 @@
+package com.globalnews.utils;
+
+import io.qameta.allure.Allure;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestResult;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Enforces {@link PerformanceBudget} annotations. Runs right after the test method,
+ * before @AfterMethod, so a test over budget, or one that never recorded a budgeted
+ * metric, is reported (and its browser recycled) like any other failure. In warn mode
+ * the violation is only logged and attached. Budgets on metrics this run cannot measure
+ * (commandCount with -Ddriver.commandStats=false) are skipped and noted in the report.
+ */
+public class PerformanceBudgetListener implements IInvokedMethodListener, ISuiteListener {
+
+    private final AtomicInteger checked = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final AtomicInteger warned = new AtomicInteger();
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (method.isTestMethod()) {
+            PerformanceBudgets.startTest();
+        }
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (!method.isTestMethod() || testResult.getStatus() != ITestResult.SUCCESS) {
+            return;
+        }
+        Method javaMethod = method.getTestMethod().getConstructorOrMethod().getMethod();
+        PerformanceBudget budget = javaMethod.getAnnotation(PerformanceBudget.class);
+        if (budget == null) {
+            return;
+        }
+
+        String testName = javaMethod.getDeclaringClass().getSimpleName() + "#" + javaMethod.getName();
+        Map<String, Long> limits = PerformanceBudgets.limits(budget, testName);
+        List<String> unavailable = limits.keySet().stream()
+                .filter(metric -> !PerformanceBudgets.isAvailable(metric))
+                .collect(Collectors.toList());
+        limits.keySet().removeAll(unavailable);
+        List<String> missing = new ArrayList<>();
+        List<PerformanceBudgets.Violation> violations = PerformanceBudgets.check(limits, missing);
+        checked.incrementAndGet();
+
+        Allure.addAttachment("Performance budget", "text/plain",
+                "limits: " + limits + "\nmeasured: " + PerformanceBudgets.getMeasured()
+                        + (missing.isEmpty() ? "" : "\nnot measured: " + missing)
+                        + (unavailable.isEmpty() ? "" : "\nnot available in this run: " + unavailable), ".txt");
+        if (violations.isEmpty() && missing.isEmpty()) {
+            return;
+        }
+
+        // A budgeted metric that was never measured (e.g. no paint entry) cannot pass its budget
+        List<String> problems = new ArrayList<>();
+        if (!violations.isEmpty()) {
+            problems.add("Performance budget exceeded: "
+                    + violations.stream().map(Object::toString).collect(Collectors.joining(", ")));
+        }
+        if (!missing.isEmpty()) {
+            problems.add("Budgeted metrics not measured: " + String.join(", ", missing));
+        }
+        String message = String.join("; ", problems);
+        if (PerformanceBudgets.isWarnOnly(budget)) {
+            warned.incrementAndGet();
+            EventLog.warning("PerformanceBudgetListener", testName, message);
+        } else {
+            failed.incrementAndGet();
+            testResult.setStatus(ITestResult.FAILURE);
+            testResult.setThrowable(new AssertionError(message));
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (checked.get() == 0) {
+            return;
+        }
+        String env = PerformanceBudgets.getEnvironment();
+        System.out.println("💰 Performance budgets (" + suite.getName() + (env.isEmpty() ? "" : ", " + env) + "): "
+                + checked.get() + " checked, " + failed.get() + " failed, " + warned.get() + " warned");
+    }
+}
@@ -0,0 +1,224 @@
+package com.globalnews.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.function.ToLongFunction;
+
+/**
+ * Metrics measured by the running test and the limits they are checked against.
+ * <p>
+ * Limits come from {@link PerformanceBudget} and can be overridden for the
+ * environment selected with -Dbudgets.env from performance-budgets.properties
+ * (on the test classpath, or -Dbudgets.file=&lt;path&gt;):
+ * <pre>
+ * # every budgeted test
+ * staging.loadMillis=15000
+ * # one test
+ * staging.BasicTest#testPageLoadTime.loadMillis=12000
+ * # warn instead of failing
+ * staging.mode=warn
+ * </pre>
+ * An override only applies to metrics the test already budgets.
+ */
+public final class PerformanceBudgets {
+
+    public static final String LOAD = "loadMillis";
+    public static final String FIRST_CONTENTFUL_PAINT = "firstContentfulPaintMillis";
+    public static final String NEWS_PANEL_OPEN = "newsPanelOpenMillis";
+    public static final String COMMAND_COUNT = "commandCount";
+    public static final String TRANSFER_BYTES = "transferBytes";
+
+    private static final Map<String, ToLongFunction<PerformanceBudget>> LIMITS = new LinkedHashMap<>();
+
+    static {
+        LIMITS.put(LOAD, PerformanceBudget::loadMillis);
+        LIMITS.put(FIRST_CONTENTFUL_PAINT, PerformanceBudget::firstContentfulPaintMillis);
+        LIMITS.put(NEWS_PANEL_OPEN, PerformanceBudget::newsPanelOpenMillis);
+        LIMITS.put(COMMAND_COUNT, PerformanceBudget::commandCount);
+        LIMITS.put(TRANSFER_BYTES, PerformanceBudget::transferBytes);
+    }
+
+    private static final String ENV = System.getProperty("budgets.env", "");
+    private static final Properties OVERRIDES = loadOverrides();
+    private static final ThreadLocal<Map<String, Double>> MEASURED = ThreadLocal.withInitial(HashMap::new);
+    // Commands the test's setup already sent, left out of its command count
+    private static final ThreadLocal<Long> COMMANDS_BEFORE_TEST = ThreadLocal.withInitial(() -> 0L);
+
+    /**
+     * One metric over its limit
+     */
+    public static class Violation {
+        private final String metric;
+        private final double value;
+        private final long limit;
+
+        Violation(String metric, double value, long limit) {
+            this.metric = metric;
+            this.value = value;
+            this.limit = limit;
+        }
+
+        public String getMetric() {
+            return metric;
+        }
+
+        public double getValue() {
+            return value;
+        }
+
+        public long getLimit() {
+            return limit;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s=%.0f exceeds budget %d", metric, value, limit);
+        }
+    }
+
+    private PerformanceBudgets() {
+    }
+
+    /**
+     * Forget the metrics of the previous test on this thread; called right before the test method
+     */
+    public static void startTest() {
+        MEASURED.get().clear();
+        COMMANDS_BEFORE_TEST.set(commandsSoFar());
+    }
+
+    /**
+     * Record a metric for the running test; a later value replaces an earlier one.
+     * The value is also kept in the {@link MetricHistory}.
+     */
+    public static void record(String metric, double value) {
+        MEASURED.get().put(metric, value);
+        MetricHistory.record(metric, value);
+    }
+
+    /**
+     * Record the page load metrics that have budgets
+     */
+    static void record(PageMetrics metrics) {
+        record(LOAD, metrics.getLoadMillis());
+        record(FIRST_CONTENTFUL_PAINT, metrics.getFirstContentfulPaintMillis());
+        record(TRANSFER_BYTES, metrics.getTransferBytes());
+    }
+
+    /**
+     * Run an action and record how long it took, e.g. submitting a search until the panel is open
+     */
+    public static void measure(String metric, Runnable action) {
+        long start = System.nanoTime();
+        action.run();
+        record(metric, (System.nanoTime() - start) / 1_000_000.0);
+    }
+
+    /**
+     * Metrics recorded by the running test, plus the WebDriver commands its body sent
+     */
+    public static Map<String, Double> getMeasured() {
+        Map<String, Double> measured = new LinkedHashMap<>(MEASURED.get());
+        if (isAvailable(COMMAND_COUNT)) {
+            measured.put(COMMAND_COUNT, (double) (commandsSoFar() - COMMANDS_BEFORE_TEST.get()));
+        }
+        return measured;
+    }
+
+    /**
+     * Whether this run can measure the metric at all: commands are only counted
+     * with -Ddriver.commandStats=true
+     */
+    public static boolean isAvailable(String metric) {
+        return !COMMAND_COUNT.equals(metric) || DriverManager.isCommandStatsEnabled();
+    }
+
+    private static long commandsSoFar() {
+        return CommandLatency.getTestBreakdown().entrySet().stream()
+                .filter(entry -> !entry.getKey().equals("sleep") && !entry.getKey().startsWith("wait "))
+                .mapToLong(entry -> entry.getValue().getCount())
+                .sum();
+    }
+
+    /**
+     * Effective limits for a test: the annotation, with the environment's overrides applied
+     * @param testName Test as "SimpleClass#method"
+     */
+    public static Map<String, Long> limits(PerformanceBudget budget, String testName) {
+        Map<String, Long> limits = new LinkedHashMap<>();
+        for (Map.Entry<String, ToLongFunction<PerformanceBudget>> entry : LIMITS.entrySet()) {
+            long limit = entry.getValue().applyAsLong(budget);
+            if (limit < 0) {
+                continue;
+            }
+            String metric = entry.getKey();
+            String override = OVERRIDES.getProperty(ENV + "." + testName + "." + metric,
+                    OVERRIDES.getProperty(ENV + "." + metric));
+            limits.put(metric, override == null ? limit : Long.parseLong(override.trim()));
+        }
+        return limits;
+    }
+
+    /**
+     * Whether exceeding the budget only warns, from -Dbudgets.mode, the environment's mode or the annotation
+     */
+    public static boolean isWarnOnly(PerformanceBudget budget) {
+        String mode = System.getProperty("budgets.mode", OVERRIDES.getProperty(ENV + ".mode"));
+        return mode == null ? budget.warnOnly() : "warn".equalsIgnoreCase(mode.trim());
+    }
+
+    /**
+     * Check the running test's metrics against its limits
+     * @param missing Receives budgeted metrics the test never recorded
+     */
+    public static List<Violation> check(Map<String, Long> limits, List<String> missing) {
+        Map<String, Double> measured = getMeasured();
+        List<Violation> violations = new ArrayList<>();
+        for (Map.Entry<String, Long> limit : limits.entrySet()) {
+            Double value = measured.get(limit.getKey());
+            if (value == null || value < 0) {
+                missing.add(limit.getKey());
+            } else if (value > limit.getValue()) {
+                violations.add(new Violation(limit.getKey(), value, limit.getValue()));
+            }
+        }
+        return violations;
+    }
+
+    public static String getEnvironment() {
+        return ENV;
+    }
+
+    private static Properties loadOverrides() {
+        Properties properties = new Properties();
+        String file = System.getProperty("budgets.file");
+        try {
+            if (file != null) {
+                Path path = Paths.get(file);
+                try (InputStream in = Files.newInputStream(path)) {
+                    properties.load(in);
+                }
+            } else {
+                try (InputStream in = PerformanceBudgets.class.getClassLoader()
+                        .getResourceAsStream("performance-budgets.properties")) {
+                    if (in != null) {
+                        properties.load(in);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read performance budgets " + file, e);
+        }
+        return properties;
+    }
+}
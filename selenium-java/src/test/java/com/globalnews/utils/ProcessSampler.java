@@ -0,0 +1,280 @@
+package com.globalnews.utils;
+
+import io.qameta.allure.Allure;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.CommandExecutor;
+import org.openqa.selenium.remote.HttpCommandExecutor;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Memory and CPU of the driver and browser processes behind each test's session.
+ * The session's chromedriver/geckodriver is found among this JVM's child processes by
+ * its --port; a background thread then reads RSS and CPU time of it and all its
+ * descendants (the browser and its renderers) from /proc every resources.intervalMillis
+ * (default 500) while a test holds the session. Each test gets its peak and average RSS
+ * and the CPU time its process tree used, attached to its report; the suite summary
+ * suggests a thread count from the largest peak and the memory available.
+ * -Dresources.sampler=false turns it off.
+ */
+public final class ProcessSampler {
+
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("resources.sampler", "true"));
+    private static final long INTERVAL_MILLIS = Long.getLong("resources.intervalMillis", 500);
+    private static final long MB = 1024 * 1024;
+
+    private static final Map<WebDriver, Optional<ProcessHandle>> ROOTS = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final Map<Thread, Active> ACTIVE = new ConcurrentHashMap<>();
+    private static final List<Usage> SUITE = new CopyOnWriteArrayList<>();
+    private static volatile ScheduledExecutorService sampler;
+
+    private ProcessSampler() {
+    }
+
+    /**
+     * Process tree of one test's session while it runs
+     */
+    private static final class Active {
+        final String test;
+        final ProcessHandle root;
+        final Map<Long, Long> startCpu = new HashMap<>();
+        final Map<Long, Long> lastCpu = new HashMap<>();
+        long peakRss;
+        long rssSum;
+        int samples;
+        int peakProcesses;
+
+        Active(String test, ProcessHandle root) {
+            this.test = test;
+            this.root = root;
+        }
+
+        synchronized void sample(boolean first) {
+            List<ProcessHandle> tree = new ArrayList<>();
+            tree.add(root);
+            try (Stream<ProcessHandle> descendants = root.descendants()) {
+                descendants.forEach(tree::add);
+            }
+            long rss = 0;
+            for (ProcessHandle process : tree) {
+                long bytes = SystemResources.residentBytes(process.pid());
+                if (bytes > 0) {
+                    rss += bytes;
+                }
+                long cpu = SystemResources.cpuNanos(process.pid());
+                if (cpu >= 0) {
+                    // Processes started during the test count from zero
+                    if (first) {
+                        startCpu.put(process.pid(), cpu);
+                    }
+                    lastCpu.put(process.pid(), cpu);
+                }
+            }
+            if (rss > 0) {
+                peakRss = Math.max(peakRss, rss);
+                rssSum += rss;
+                samples++;
+            }
+            peakProcesses = Math.max(peakProcesses, tree.size());
+        }
+
+        synchronized Usage finish() {
+            sample(false);
+            long cpu = 0;
+            for (Map.Entry<Long, Long> entry : lastCpu.entrySet()) {
+                cpu += Math.max(0, entry.getValue() - startCpu.getOrDefault(entry.getKey(), 0L));
+            }
+            return new Usage(test, peakRss, samples == 0 ? 0 : rssSum / samples, cpu, peakProcesses, samples);
+        }
+    }
+
+    /**
+     * Resources one test's session used
+     */
+    public static class Usage {
+        private final String test;
+        private final long peakRssBytes;
+        private final long averageRssBytes;
+        private final long cpuNanos;
+        private final int processes;
+        private final int samples;
+
+        Usage(String test, long peakRssBytes, long averageRssBytes, long cpuNanos, int processes, int samples) {
+            this.test = test;
+            this.peakRssBytes = peakRssBytes;
+            this.averageRssBytes = averageRssBytes;
+            this.cpuNanos = cpuNanos;
+            this.processes = processes;
+            this.samples = samples;
+        }
+
+        public String getTest() {
+            return test;
+        }
+
+        public long getPeakRssBytes() {
+            return peakRssBytes;
+        }
+
+        public long getAverageRssBytes() {
+            return averageRssBytes;
+        }
+
+        public long getCpuMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(cpuNanos);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("peak RSS %d MB, avg RSS %d MB, CPU %d ms, %d processes, %d samples",
+                    peakRssBytes / MB, averageRssBytes / MB, getCpuMillis(), processes, samples);
+        }
+    }
+
+    /**
+     * Start sampling the session of the current thread's test
+     */
+    public static void startTest(String test, WebDriver driver) {
+        if (!ENABLED || driver == null) {
+            return;
+        }
+        Optional<ProcessHandle> root = ROOTS.computeIfAbsent(DriverManager.unwrap(driver), ProcessSampler::findDriverProcess);
+        if (!root.isPresent()) {
+            return;
+        }
+        Active active = new Active(test, root.get());
+        active.sample(true);
+        ACTIVE.put(Thread.currentThread(), active);
+        ensureStarted();
+    }
+
+    /**
+     * Stop sampling the current thread's test and report what its session used
+     * @return The usage, or null when nothing was sampled
+     */
+    public static Usage finishTest() {
+        Active active = ACTIVE.remove(Thread.currentThread());
+        if (active == null) {
+            return null;
+        }
+        Usage usage = active.finish();
+        SUITE.add(usage);
+        // Called from @AfterMethod: name the test explicitly, TestNG's current result is tearDown
+        MetricHistory.recordTest(active.test, "sessionPeakRssMb", usage.getPeakRssBytes() / (double) MB);
+        EventLog.observed("Session peak RSS MB", usage.getPeakRssBytes() / MB);
+        EventLog.observed("Session CPU ms", usage.getCpuMillis());
+        Allure.addAttachment("Process resources", "text/plain", usage.toString(), ".txt");
+        return usage;
+    }
+
+    public static List<Usage> getSuiteUsage() {
+        return Collections.unmodifiableList(SUITE);
+    }
+
+    /**
+     * Largest and median session peaks, CPU and the thread count whose peaks fit in
+     * 80% of the memory available to the test run
+     */
+    public static String summary() {
+        if (SUITE.isEmpty()) {
+            return "no sessions sampled";
+        }
+        long[] peaks = SUITE.stream().mapToLong(Usage::getPeakRssBytes).sorted().toArray();
+        long maxPeak = peaks[peaks.length - 1];
+        long cpu = SUITE.stream().mapToLong(Usage::getCpuMillis).sum();
+        Usage largest = SUITE.stream().filter(usage -> usage.getPeakRssBytes() == maxPeak).findFirst().orElse(null);
+        // Memory the browsers still hold counts as available to a new run
+        long available = SystemResources.availableMemoryBytes();
+        long held = SystemResources.descendantResidentBytes();
+        if (available >= 0 && held > 0) {
+            available += held;
+        }
+        String suggestion = available < 0 || maxPeak == 0
+                ? "unknown"
+                : Long.toString(Math.max(1, (long) (available * 0.8) / maxPeak));
+        return String.format("%d tests, session peak RSS median %d MB / max %d MB (%s), browser CPU %d ms;"
+                        + " %d MB available -> thread-count <= %s",
+                SUITE.size(), peaks[peaks.length / 2] / MB, maxPeak / MB,
+                largest == null ? "?" : largest.getTest(), cpu, available / MB, suggestion);
+    }
+
+    /**
+     * Stop the sampling thread
+     */
+    public static synchronized void shutdown() {
+        if (sampler != null) {
+            sampler.shutdownNow();
+            sampler = null;
+        }
+    }
+
+    private static synchronized void ensureStarted() {
+        if (sampler != null) {
+            return;
+        }
+        sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "process-sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sampler.scheduleAtFixedRate(() -> {
+            for (Active active : ACTIVE.values()) {
+                try {
+                    active.sample(false);
+                } catch (RuntimeException e) {
+                    // A process exited between listing and reading it
+                }
+            }
+        }, INTERVAL_MILLIS, INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * The driver service process of a session: the child of this JVM started with its port
+     */
+    private static Optional<ProcessHandle> findDriverProcess(WebDriver driver) {
+        if (!(driver instanceof RemoteWebDriver)) {
+            return Optional.empty();
+        }
+        CommandExecutor executor = ((RemoteWebDriver) driver).getCommandExecutor();
+        if (!(executor instanceof HttpCommandExecutor)) {
+            return Optional.empty();
+        }
+        String port = Integer.toString(((HttpCommandExecutor) executor).getAddressOfRemoteServer().getPort());
+        try (Stream<ProcessHandle> children = ProcessHandle.current().children()) {
+            Optional<ProcessHandle> found = children
+                    .filter(process -> process.info().arguments()
+                            .map(arguments -> listensOn(Arrays.asList(arguments), port))
+                            .orElse(false))
+                    .findFirst();
+            if (!found.isPresent()) {
+                EventLog.warning("ProcessSampler", "Driver process not found, not sampling", "port " + port);
+            }
+            return found;
+        }
+    }
+
+    private static boolean listensOn(List<String> arguments, String port) {
+        for (int i = 0; i < arguments.size(); i++) {
+            String argument = arguments.get(i);
+            if (argument.equals("--port=" + port)
+                    || (argument.equals("--port") && i + 1 < arguments.size() && arguments.get(i + 1).equals(port))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,18 @@
+package com.globalnews.utils;
+
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+/**
+ * Suite listener that stops the process sampler and reports browser memory and CPU per session
+ */
+public class ProcessSamplerListener implements ISuiteListener {
+
+    @Override
+    public void onFinish(ISuite suite) {
+        ProcessSampler.shutdown();
+        if (!ProcessSampler.getSuiteUsage().isEmpty()) {
+            System.out.println("🧠 Browser processes (" + suite.getName() + "): " + ProcessSampler.summary());
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package com.globalnews.utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Warm-start Chrome profiles (-Dprofile.mode=warm).
+ * A golden profile is captured once by loading the application in a Chrome with its own
+ * user-data directory, so its HTTP cache holds the JS bundles, fonts and map geometry.
+ * Every new Chrome session then starts from a private copy of it on RAM-backed storage
+ * (/dev/shm when available) that is deleted when the browser quits. The default cold
+ * mode keeps Chrome's empty temporary profile, so both can be measured; warm runs are
+ * recorded under their own browser label in the metric history.
+ * <ul>
+ *   <li>profile.golden: golden profile directory (~/.cache/globalnews/golden-profile), reused by later
+ *   runs and kept by mvn clean</li>
+ *   <li>profile.refresh: capture the golden profile again even if it exists</li>
+ *   <li>profile.cloneDir: where session copies go (/dev/shm, else the temp directory)</li>
+ * </ul>
+ */
+public final class ProfileSnapshots {
+
+    /**
+     * How a new Chrome session's profile starts
+     */
+    public enum Mode {
+        COLD,
+        WARM
+    }
+
+    private static final Mode MODE = Mode.valueOf(System.getProperty("profile.mode", "cold").toUpperCase(Locale.ROOT));
+    private static final Path GOLDEN = Paths.get(System.getProperty("profile.golden",
+            Paths.get(System.getProperty("user.home"), ".cache", "globalnews", "golden-profile").toString()));
+    private static final boolean REFRESH = Boolean.getBoolean("profile.refresh");
+    private static final Path CLONE_ROOT = Paths.get(System.getProperty("profile.cloneDir", defaultCloneDir()))
+            .resolve("globalnews-profiles-" + ProcessHandle.current().pid());
+
+    private static final Map<WebDriver, Path> CLONES = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final Object CAPTURE_LOCK = new Object();
+    private static volatile boolean captured;
+
+    // Statistics
+    private static final AtomicLong CAPTURE_MILLIS = new AtomicLong(-1);
+    private static final AtomicLong CLONE_COUNT = new AtomicLong();
+    private static final LongAdder CLONE_NANOS = new LongAdder();
+    private static final LongAdder CLONE_BYTES = new LongAdder();
+
+    static {
+        if (MODE == Mode.WARM) {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> deleteQuietly(CLONE_ROOT), "profile-clone-cleanup"));
+        }
+    }
+
+    private ProfileSnapshots() {
+    }
+
+    public static Mode getMode() {
+        return MODE;
+    }
+
+    /**
+     * Browser label for per-run metrics, so warm and cold runs keep separate baselines
+     */
+    public static String label(String browser) {
+        return MODE == Mode.WARM && "chrome".equalsIgnoreCase(browser) ? browser + "+warm" : browser;
+    }
+
+    /**
+     * In warm mode, point the options at a fresh copy of the golden profile (capturing it
+     * first if needed) and return the copy; null in cold mode. Pass the copy to
+     * {@link #bind} once the browser is running, or {@link #discard} if it fails to start.
+     */
+    static Path prepare(ChromeOptions options, boolean headless) {
+        if (MODE != Mode.WARM) {
+            return null;
+        }
+        ensureGolden(headless);
+        long start = System.nanoTime();
+        try {
+            Files.createDirectories(CLONE_ROOT);
+            Path clone = Files.createTempDirectory(CLONE_ROOT, "session-");
+            CLONE_BYTES.add(copy(GOLDEN, clone));
+            CLONE_NANOS.add(System.nanoTime() - start);
+            CLONE_COUNT.incrementAndGet();
+            options.addArguments("--user-data-dir=" + clone.toAbsolutePath());
+            return clone;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not copy the golden profile to " + CLONE_ROOT, e);
+        }
+    }
+
+    /**
+     * Remember which browser uses a profile copy
+     */
+    static void bind(WebDriver driver, Path clone) {
+        if (clone != null) {
+            CLONES.put(DriverManager.unwrap(driver), clone);
+        }
+    }
+
+    /**
+     * Delete the profile copy of a browser that has quit
+     */
+    static void release(WebDriver driver) {
+        if (MODE == Mode.WARM) {
+            discard(CLONES.remove(DriverManager.unwrap(driver)));
+        }
+    }
+
+    static void discard(Path clone) {
+        if (clone != null) {
+            deleteQuietly(clone);
+        }
+    }
+
+    /**
+     * Capture the golden profile once per JVM, unless an earlier run left one
+     */
+    private static void ensureGolden(boolean headless) {
+        if (captured) {
+            return;
+        }
+        synchronized (CAPTURE_LOCK) {
+            if (captured) {
+                return;
+            }
+            if (REFRESH || !Files.isDirectory(GOLDEN)) {
+                capture(headless);
+            }
+            captured = true;
+        }
+    }
+
+    private static void capture(boolean headless) {
+        long start = System.nanoTime();
+        Path staging = GOLDEN.resolveSibling(GOLDEN.getFileName() + ".tmp-" + ProcessHandle.current().pid());
+        deleteQuietly(staging);
+
+        DriverBinaries.chrome();
+        ChromeOptions options = DriverManager.buildChromeOptions(headless);
+        options.addArguments("--user-data-dir=" + staging.toAbsolutePath());
+        ChromeDriver driver = new ChromeDriver(options);
+        try {
+            driver.get(BaseTest.BASE_URL);
+            Waits.until(driver, ReadinessConditions.appReady().and(ReadinessConditions.globeRendered()), 0);
+        } finally {
+            // Quitting flushes the cache to disk
+            driver.quit();
+        }
+
+        try {
+            if (Files.isDirectory(GOLDEN)) {
+                deleteQuietly(GOLDEN);
+            }
+            try {
+                Files.move(staging, GOLDEN, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(staging, GOLDEN);
+            }
+        } catch (FileAlreadyExistsException e) {
+            // Another JVM (shard) captured it first
+            deleteQuietly(staging);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store the golden profile in " + GOLDEN, e);
+        }
+        CAPTURE_MILLIS.set(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        EventLog.observed("Golden profile captured ms", CAPTURE_MILLIS.get());
+    }
+
+    /**
+     * Copy a profile without Chrome's per-process lock files
+     * @return Bytes copied
+     */
+    private static long copy(Path source, Path target) throws IOException {
+        long[] bytes = new long[1];
+        Files.walkFileTree(source, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                Files.createDirectories(target.resolve(source.relativize(dir).toString()));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                String name = file.getFileName().toString();
+                if (name.startsWith("Singleton") || name.equals("lockfile") || !attrs.isRegularFile()) {
+                    return FileVisitResult.CONTINUE;
+                }
+                Files.copy(file, target.resolve(source.relativize(file).toString()));
+                bytes[0] += attrs.size();
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return bytes[0];
+    }
+
+    private static void deleteQuietly(Path dir) {
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> {
+                try {
+                    Files.deleteIfExists(path);
+                } catch (IOException e) {
+                    // Chrome may still be writing; the shutdown hook retries the whole directory
+                }
+            });
+        } catch (IOException | UncheckedIOException e) {
+            EventLog.warning("ProfileSnapshots", "Could not delete profile directory " + dir, e.getMessage());
+        }
+    }
+
+    private static String defaultCloneDir() {
+        Path shm = Paths.get("/dev/shm");
+        return Files.isDirectory(shm) && Files.isWritable(shm) ? shm.toString() : System.getProperty("java.io.tmpdir");
+    }
+
+    /**
+     * Mode, golden capture time and session copies
+     */
+    public static String summary() {
+        long clones = CLONE_COUNT.get();
+        return String.format("%s, golden %s, %d copies avg %d ms / %.1f MB in %s",
+                MODE.name().toLowerCase(Locale.ROOT),
+                CAPTURE_MILLIS.get() < 0 ? "reused from " + GOLDEN : "captured in " + CAPTURE_MILLIS.get() + " ms",
+                clones,
+                clones == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(CLONE_NANOS.sum() / clones),
+                clones == 0 ? 0.0 : CLONE_BYTES.sum() / (double) clones / (1024 * 1024),
+                CLONE_ROOT.getParent());
+    }
+}
@@ -0,0 +1,134 @@
+package com.globalnews.utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Readiness conditions for the Interactive News Globe page
+ * Each check is a single script call so it is not slowed down by the implicit wait
+ */
+public final class ReadinessConditions {
+
+    // Selectors shared with the Cypress suite
+    public static final String SEARCH_INPUT = "input[placeholder*='Search for a country']";
+    public static final String GLOBE_SVG = "svg.cursor-grab";
+    public static final String COUNTRY_PATH = "path.country-path";
+    public static final String LOADING_SPINNER = ".animate-spin-slow";
+    public static final String NEWS_PANEL = "aside.max-w-md";
+    public static final String SEARCH_LISTBOX = "ul[role='listbox']";
+
+    private static final String IS_VISIBLE_JS =
+            "var el = document.querySelector(arguments[0]);"
+            + "if (!el) return false;"
+            + "var r = el.getBoundingClientRect(), s = window.getComputedStyle(el);"
+            + "return r.width > 0 && r.height > 0 && r.right > 0 && r.left < window.innerWidth"
+            + " && s.visibility !== 'hidden' && s.display !== 'none' && s.opacity !== '0';";
+
+    private ReadinessConditions() {
+    }
+
+    /**
+     * document.readyState is complete
+     */
+    public static WaitCondition documentReady() {
+        return WaitCondition.of("documentReady",
+                driver -> "complete".equals(script(driver, "return document.readyState;")));
+    }
+
+    /**
+     * Initial loading spinner has gone (same check as cy.waitForAppReady)
+     */
+    public static WaitCondition appReady() {
+        return WaitCondition.of("appReady",
+                driver -> Boolean.TRUE.equals(script(driver,
+                        "return document.readyState === 'complete' && !document.querySelector(arguments[0]);",
+                        LOADING_SPINNER)));
+    }
+
+    /**
+     * Globe SVG is in the DOM and has drawn country paths
+     * (icons and the spinner are svgs too, so both selectors must match)
+     */
+    public static WaitCondition globeRendered() {
+        return new WaitCondition("globeRendered", Duration.ofSeconds(15),
+                driver -> Boolean.TRUE.equals(script(driver,
+                        "var svg = document.querySelector(arguments[0]);"
+                        + "return !!svg && !!svg.querySelector(arguments[1]);",
+                        GLOBE_SVG, COUNTRY_PATH)));
+    }
+
+    /**
+     * Search combobox is present, enabled and not busy
+     */
+    public static WaitCondition searchIdle() {
+        return WaitCondition.of("searchIdle",
+                driver -> Boolean.TRUE.equals(script(driver,
+                        "var input = document.querySelector(arguments[0]);"
+                        + "return !!input && !input.disabled && input.getAttribute('aria-busy') !== 'true'"
+                        + " && !document.querySelector(arguments[1]);",
+                        SEARCH_INPUT, LOADING_SPINNER)));
+    }
+
+    /**
+     * News panel is visible on screen
+     */
+    public static WaitCondition panelOpen() {
+        return WaitCondition.of("panelOpen",
+                driver -> Boolean.TRUE.equals(script(driver, IS_VISIBLE_JS, NEWS_PANEL)));
+    }
+
+    /**
+     * News panel is absent or off screen
+     */
+    public static WaitCondition panelClosed() {
+        return WaitCondition.of("panelClosed",
+                driver -> Boolean.FALSE.equals(script(driver, IS_VISIBLE_JS, NEWS_PANEL)));
+    }
+
+    /**
+     * Input value equals the expected text
+     * @param cssSelector Input selector
+     * @param expected Expected value
+     */
+    public static WaitCondition inputValue(String cssSelector, String expected) {
+        return WaitCondition.of("inputValue",
+                driver -> expected.equals(script(driver,
+                        "var input = document.querySelector(arguments[0]);"
+                        + "return input ? input.value : null;",
+                        cssSelector)));
+    }
+
+    /**
+     * Input value is unchanged between two consecutive polls
+     * Create a new instance for every wait, it keeps the last value seen
+     * @param cssSelector Input selector
+     */
+    public static WaitCondition inputValueSettled(String cssSelector) {
+        AtomicReference<Object> lastValue = new AtomicReference<>(new Object());
+        return WaitCondition.of("inputValueSettled", driver -> {
+            Object value = script(driver,
+                    "var input = document.querySelector(arguments[0]);"
+                    + "return input ? input.value : null;",
+                    cssSelector);
+            return value != null && value.equals(lastValue.getAndSet(value));
+        });
+    }
+
+    /**
+     * Browser has painted two animation frames since the call, i.e. layout and
+     * pending style changes (resizes, clicks, key presses) have been applied
+     */
+    public static WaitCondition layoutSettled() {
+        return WaitCondition.of("layoutSettled",
+                driver -> Boolean.TRUE.equals(((JavascriptExecutor) driver).executeAsyncScript(
+                        "var done = arguments[arguments.length - 1];"
+                        + "requestAnimationFrame(function() { requestAnimationFrame(function() { done(true); }); });")));
+    }
+
+    private static Object script(WebDriver driver, String js, Object... args) {
+        return ((JavascriptExecutor) driver).executeScript(js, args);
+    }
+}
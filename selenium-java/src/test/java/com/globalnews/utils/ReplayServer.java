@@ -0,0 +1,242 @@
+package com.globalnews.utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process HTTP server that answers browser requests from a {@link NetworkArchive}
+ * Accepts both proxy-style ("GET http://host/path") and origin-style ("GET /path" + Host)
+ * requests. Bodies are sent with FileChannel.transferTo so they never pass through the heap.
+ */
+public class ReplayServer implements Closeable {
+
+    private static final int MAX_HEADER_BYTES = 64 * 1024;
+
+    private final NetworkArchive archive;
+    private final ServerSocketChannel serverChannel;
+    private final ExecutorService workers = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "replay-server");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong bytesServed = new AtomicLong();
+
+    private ReplayServer(NetworkArchive archive, ServerSocketChannel serverChannel) {
+        this.archive = archive;
+        this.serverChannel = serverChannel;
+    }
+
+    /**
+     * Start serving the archive on an ephemeral loopback port
+     */
+    public static ReplayServer start(NetworkArchive archive) throws IOException {
+        ServerSocketChannel channel = ServerSocketChannel.open();
+        channel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        ReplayServer server = new ReplayServer(archive, channel);
+        server.workers.execute(server::acceptLoop);
+        return server;
+    }
+
+    public int getPort() {
+        return ((InetSocketAddress) serverChannel.socket().getLocalSocketAddress()).getPort();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getBytesServed() {
+        return bytesServed.get();
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverChannel.close();
+        workers.shutdownNow();
+    }
+
+    private void acceptLoop() {
+        while (serverChannel.isOpen()) {
+            try {
+                SocketChannel client = serverChannel.accept();
+                workers.execute(() -> serve(client));
+            } catch (IOException e) {
+                if (serverChannel.isOpen()) {
+                    EventLog.warning("ReplayServer", "Accept failed", e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Serve requests on one keep-alive connection until the client closes it
+     */
+    private void serve(SocketChannel client) {
+        ByteBuffer buffer = ByteBuffer.allocate(MAX_HEADER_BYTES);
+        try (SocketChannel channel = client) {
+            String head;
+            while ((head = readHead(channel, buffer)) != null) {
+                String[] lines = head.split("\r\n");
+                String[] requestLine = lines[0].split(" ");
+                if (requestLine.length < 3) {
+                    return;
+                }
+
+                String method = requestLine[0].toUpperCase(Locale.ROOT);
+                String target = requestLine[1];
+                String host = null;
+                long contentLength = 0;
+                boolean keepAlive = !requestLine[2].equals("HTTP/1.0");
+                for (int i = 1; i < lines.length; i++) {
+                    int colon = lines[i].indexOf(':');
+                    if (colon <= 0) {
+                        continue;
+                    }
+                    String name = lines[i].substring(0, colon).trim().toLowerCase(Locale.ROOT);
+                    String value = lines[i].substring(colon + 1).trim();
+                    if (name.equals("host")) {
+                        host = value;
+                    } else if (name.equals("content-length")) {
+                        contentLength = Long.parseLong(value);
+                    } else if (name.equals("connection") || name.equals("proxy-connection")) {
+                        keepAlive = !value.equalsIgnoreCase("close");
+                    }
+                }
+                skipBody(channel, buffer, contentLength);
+
+                if (method.equals("CONNECT")) {
+                    // TLS tunnels cannot be replayed; NetworkCache rewrites https requests to http
+                    misses.incrementAndGet();
+                    writeHead(channel, 501, "text/plain", List.of(), 0, false);
+                    return;
+                }
+
+                String url = target.startsWith("http://") || target.startsWith("https://")
+                        ? target : "http://" + host + target;
+                NetworkArchive.Entry entry = archive.lookup(method.equals("HEAD") ? "GET" : method, url);
+                if (entry == null) {
+                    misses.incrementAndGet();
+                    EventLog.warning("ReplayServer", "Not in network archive", method + " " + url);
+                    writeHead(channel, 404, "text/plain", List.of(), 0, keepAlive);
+                } else {
+                    hits.incrementAndGet();
+                    writeHead(channel, entry.getStatus(), entry.getContentType(), entry.getHeaders(),
+                            entry.getLength(), keepAlive);
+                    if (!method.equals("HEAD")) {
+                        transferBody(channel, entry);
+                    }
+                }
+
+                if (!keepAlive) {
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            // Browser closed the connection
+        }
+    }
+
+    /**
+     * Read up to the end of the request headers, keeping any extra bytes in the buffer
+     * @return the header block, or null at end of stream
+     */
+    private static String readHead(SocketChannel channel, ByteBuffer buffer) throws IOException {
+        while (true) {
+            int end = indexOfHeaderEnd(buffer);
+            if (end >= 0) {
+                buffer.flip();
+                byte[] head = new byte[end];
+                buffer.get(head);
+                buffer.position(end + 4);
+                buffer.compact();
+                return new String(head, StandardCharsets.ISO_8859_1);
+            }
+            if (!buffer.hasRemaining()) {
+                throw new IOException("Request headers too large");
+            }
+            if (channel.read(buffer) < 0) {
+                return null;
+            }
+        }
+    }
+
+    private static int indexOfHeaderEnd(ByteBuffer buffer) {
+        for (int i = 0; i + 3 < buffer.position(); i++) {
+            if (buffer.get(i) == '\r' && buffer.get(i + 1) == '\n'
+                    && buffer.get(i + 2) == '\r' && buffer.get(i + 3) == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static void skipBody(SocketChannel channel, ByteBuffer buffer, long length) throws IOException {
+        long remaining = length;
+        while (remaining > 0) {
+            if (buffer.position() == 0 && channel.read(buffer) < 0) {
+                return;
+            }
+            int skip = (int) Math.min(remaining, buffer.position());
+            buffer.flip();
+            buffer.position(skip);
+            buffer.compact();
+            remaining -= skip;
+        }
+    }
+
+    /**
+     * Status line and headers: the recorded ones (Location, caching...) plus framing for the stored body
+     */
+    private static void writeHead(SocketChannel channel, int status, String contentType, List<String> headers,
+                                  long length, boolean keepAlive) throws IOException {
+        StringBuilder head = new StringBuilder()
+                .append("HTTP/1.1 ").append(status).append(' ').append(status < 400 ? "OK" : "Replay").append("\r\n")
+                .append("Content-Type: ").append(contentType).append("\r\n")
+                .append("Content-Length: ").append(length).append("\r\n")
+                .append("Access-Control-Allow-Origin: *\r\n");
+        boolean cacheControl = false;
+        for (String header : headers) {
+            head.append(header).append("\r\n");
+            cacheControl |= header.regionMatches(true, 0, "Cache-Control:", 0, "Cache-Control:".length());
+        }
+        if (!cacheControl) {
+            head.append("Cache-Control: no-store\r\n");
+        }
+        head.append("Connection: ").append(keepAlive ? "keep-alive" : "close").append("\r\n\r\n");
+        ByteBuffer bytes = ByteBuffer.wrap(head.toString().getBytes(StandardCharsets.ISO_8859_1));
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+    }
+
+    private void transferBody(SocketChannel channel, NetworkArchive.Entry entry) throws IOException {
+        try (FileChannel file = FileChannel.open(entry.getBody(), StandardOpenOption.READ)) {
+            long position = 0;
+            long size = file.size();
+            while (position < size) {
+                position += file.transferTo(position, size - position, channel);
+            }
+            bytesServed.addAndGet(size);
+        }
+    }
+}
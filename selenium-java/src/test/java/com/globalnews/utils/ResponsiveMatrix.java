@@ -0,0 +1,348 @@
+package com.globalnews.utils;
+
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WindowType;
+import org.openqa.selenium.chrome.ChromeDriver;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Responsive checks over all breakpoints at once instead of resizing one window in turn.
+ * On Chrome every breakpoint gets its own tab in its own browser context (see
+ * {@link BrowserContexts}), so it shares no cookies or storage with the test's page, and
+ * DevTools device metrics (viewport, device scale factor, mobile and touch emulation);
+ * all tabs start loading before any is waited on, so another breakpoint adds little to
+ * the test. Each tab is then read with a single {@link DomSnapshot} and its context
+ * disposed.
+ * <pre>
+ * ResponsiveMatrix.Result result = ResponsiveMatrix.all()
+ *         .snapshot(BaseTest.BASE_URL, ReadinessConditions.appReady(),
+ *                   DomSnapshot.query(ReadinessConditions.SEARCH_INPUT));
+ * Assert.assertEquals(result.failing(ReadinessConditions.SEARCH_INPUT, DomSnapshot.Element::isVisible),
+ *         Collections.emptyList());
+ * </pre>
+ * Breakpoints are read from responsive-breakpoints.properties on the test classpath
+ * (-Dresponsive.file=&lt;path&gt; to replace it, -Dresponsive.breakpoints=&lt;name&gt;,... to
+ * select some). DevTools intercepts one tab at a time, so while the browser has network
+ * stubs or a record/replay filter the tabs are loaded one after another, each with the
+ * filters moved to it; the page metrics probe stays on the main tab. Other browsers
+ * resize the main window per breakpoint.
+ */
+public final class ResponsiveMatrix {
+
+    private static final Pattern SPEC = Pattern.compile("(\\d+)x(\\d+)(?:@([\\d.]+))?(,touch)?");
+    private static final List<Breakpoint> BREAKPOINTS = loadBreakpoints();
+
+    private final List<Breakpoint> breakpoints;
+
+    private ResponsiveMatrix(List<Breakpoint> breakpoints) {
+        this.breakpoints = breakpoints;
+    }
+
+    /**
+     * A viewport to emulate
+     */
+    public static class Breakpoint {
+        private final String name;
+        private final int width;
+        private final int height;
+        private final double deviceScaleFactor;
+        private final boolean touch;
+
+        public Breakpoint(String name, int width, int height, double deviceScaleFactor, boolean touch) {
+            this.name = name;
+            this.width = width;
+            this.height = height;
+            this.deviceScaleFactor = deviceScaleFactor;
+            this.touch = touch;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getWidth() {
+            return width;
+        }
+
+        public int getHeight() {
+            return height;
+        }
+
+        public double getDeviceScaleFactor() {
+            return deviceScaleFactor;
+        }
+
+        /**
+         * Emulates a mobile device: touch events and mobile viewport handling
+         */
+        public boolean isTouch() {
+            return touch;
+        }
+
+        @Override
+        public String toString() {
+            return name + " " + width + "x" + height + "@" + deviceScaleFactor + (touch ? " touch" : "");
+        }
+    }
+
+    /**
+     * Snapshots by breakpoint, in breakpoint order
+     */
+    public static class Result {
+        private final Map<Breakpoint, DomSnapshot> snapshots;
+        private final long elapsedMillis;
+
+        Result(Map<Breakpoint, DomSnapshot> snapshots, long elapsedMillis) {
+            this.snapshots = snapshots;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        public Map<Breakpoint, DomSnapshot> getSnapshots() {
+            return Collections.unmodifiableMap(snapshots);
+        }
+
+        public DomSnapshot get(String breakpoint) {
+            return snapshots.entrySet().stream()
+                    .filter(entry -> entry.getKey().getName().equals(breakpoint))
+                    .map(Map.Entry::getValue)
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Breakpoint not in the matrix: " + breakpoint));
+        }
+
+        /**
+         * Names of the breakpoints where the element does not satisfy the check
+         */
+        public List<String> failing(String cssSelector, Predicate<DomSnapshot.Element> check) {
+            return snapshots.entrySet().stream()
+                    .filter(entry -> !check.test(entry.getValue().get(cssSelector)))
+                    .map(entry -> entry.getKey().getName())
+                    .collect(Collectors.toList());
+        }
+
+        /**
+         * Wall-clock time for the whole matrix
+         */
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+    }
+
+    /**
+     * Every configured breakpoint, or those listed in -Dresponsive.breakpoints
+     */
+    public static ResponsiveMatrix all() {
+        String only = System.getProperty("responsive.breakpoints", "");
+        return only.isEmpty() ? new ResponsiveMatrix(BREAKPOINTS) : of(only.split(","));
+    }
+
+    /**
+     * Only the named breakpoints, whatever -Dresponsive.breakpoints selects
+     */
+    public static ResponsiveMatrix of(String... names) {
+        List<Breakpoint> selected = new ArrayList<>();
+        for (String name : names) {
+            selected.add(BREAKPOINTS.stream()
+                    .filter(breakpoint -> breakpoint.getName().equals(name))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown breakpoint: " + name)));
+        }
+        return new ResponsiveMatrix(selected);
+    }
+
+    public List<Breakpoint> getBreakpoints() {
+        return Collections.unmodifiableList(breakpoints);
+    }
+
+    /**
+     * Load the URL at every breakpoint on the current thread's browser and take the snapshot
+     * once the condition holds
+     */
+    public Result snapshot(String url, WaitCondition ready, DomSnapshot.Query query) {
+        WebDriver driver = DriverManager.getDriver();
+        long start = System.nanoTime();
+        Map<Breakpoint, DomSnapshot> snapshots = DriverManager.unwrap(driver) instanceof ChromeDriver
+                ? inTabs(driver, url, ready, query)
+                : byResizing(driver, url, ready, query);
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        EventLog.observed("responsive " + snapshots.size() + " breakpoints ms", elapsed);
+        return new Result(snapshots, elapsed);
+    }
+
+    private Map<Breakpoint, DomSnapshot> inTabs(WebDriver driver, String url, WaitCondition ready,
+                                                DomSnapshot.Query query) {
+        ChromeDriver chrome = (ChromeDriver) DriverManager.unwrap(driver);
+        String mainWindow = driver.getWindowHandle();
+        boolean filtered = DriverManager.hasNetworkFilters(driver);
+        List<String> contexts = new ArrayList<>();
+        List<String> plainTabs = new ArrayList<>();
+        Map<Breakpoint, String> tabs = new LinkedHashMap<>();
+        Map<Breakpoint, DomSnapshot> snapshots = new LinkedHashMap<>();
+        try {
+            for (Breakpoint breakpoint : breakpoints) {
+                String tab = openTab(driver, chrome, contexts, plainTabs);
+                tabs.put(breakpoint, tab);
+                driver.switchTo().window(tab);
+                emulate(chrome, breakpoint);
+                if (filtered) {
+                    // Stubs and replay must see this tab's requests before it loads
+                    DriverManager.moveNetworkFilters(chrome, tab);
+                    load(driver, url);
+                    snapshots.put(breakpoint, take(driver, breakpoint, ready, query));
+                } else {
+                    // Start every page before waiting on any, so they load side by side
+                    load(driver, url);
+                }
+            }
+
+            for (Map.Entry<Breakpoint, String> tab : tabs.entrySet()) {
+                if (!snapshots.containsKey(tab.getKey())) {
+                    driver.switchTo().window(tab.getValue());
+                    snapshots.put(tab.getKey(), take(driver, tab.getKey(), ready, query));
+                }
+            }
+            return snapshots;
+        } finally {
+            for (String tab : plainTabs) {
+                try {
+                    driver.switchTo().window(tab).close();
+                } catch (Exception e) {
+                    EventLog.warning("ResponsiveMatrix", "Failed to close breakpoint tab", e.getMessage());
+                }
+            }
+            driver.switchTo().window(mainWindow);
+            if (filtered) {
+                // Back to the test's tab before the breakpoint tab DevTools is attached to goes away
+                DriverManager.moveNetworkFilters(chrome, mainWindow);
+            }
+            for (String contextId : contexts) {
+                try {
+                    BrowserContexts.disposeContext(chrome, contextId);
+                } catch (Exception e) {
+                    EventLog.warning("ResponsiveMatrix", "Failed to dispose breakpoint context", e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * A tab in a browser context of its own, or a plain tab of the browser when Chrome
+     * refuses to create one; plain tabs share cookies and storage with the test's tab
+     */
+    private static String openTab(WebDriver driver, ChromeDriver chrome, List<String> contexts,
+                                  List<String> plainTabs) {
+        // After one refusal the remaining breakpoints go straight to plain tabs
+        if (plainTabs.isEmpty()) {
+            try {
+                String contextId = BrowserContexts.createContext(chrome);
+                contexts.add(contextId);
+                return BrowserContexts.openTab(chrome, contextId);
+            } catch (Exception e) {
+                EventLog.warning("ResponsiveMatrix", "Could not create a breakpoint context, using a plain tab",
+                        e.getMessage());
+            }
+        }
+        String current = driver.getWindowHandle();
+        String tab = driver.switchTo().newWindow(WindowType.TAB).getWindowHandle();
+        plainTabs.add(tab);
+        driver.switchTo().window(current);
+        return tab;
+    }
+
+    private static void load(WebDriver driver, String url) {
+        ((JavascriptExecutor) driver).executeScript("window.location.href = arguments[0];", url);
+    }
+
+    private static DomSnapshot take(WebDriver driver, Breakpoint breakpoint, WaitCondition ready,
+                                    DomSnapshot.Query query) {
+        Waits.until(driver, ready.named(ready.getName() + "@" + breakpoint.getName()), 0);
+        return query.take(driver);
+    }
+
+    private static void emulate(ChromeDriver chrome, Breakpoint breakpoint) {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("width", breakpoint.getWidth());
+        metrics.put("height", breakpoint.getHeight());
+        metrics.put("deviceScaleFactor", breakpoint.getDeviceScaleFactor());
+        metrics.put("mobile", breakpoint.isTouch());
+        chrome.executeCdpCommand("Emulation.setDeviceMetricsOverride", metrics);
+
+        Map<String, Object> touch = new LinkedHashMap<>();
+        touch.put("enabled", breakpoint.isTouch());
+        touch.put("maxTouchPoints", breakpoint.isTouch() ? 5 : 1);
+        chrome.executeCdpCommand("Emulation.setTouchEmulationEnabled", touch);
+
+        // Tabs in the background keep running timers and animation frames as if focused
+        chrome.executeCdpCommand("Emulation.setFocusEmulationEnabled", Map.of("enabled", true));
+    }
+
+    private Map<Breakpoint, DomSnapshot> byResizing(WebDriver driver, String url, WaitCondition ready,
+                                                    DomSnapshot.Query query) {
+        EventLog.event(EventLog.Type.UNSUPPORTED, "Device emulation needs Chrome, resizing the window per breakpoint");
+        Dimension original = driver.manage().window().getSize();
+        Map<Breakpoint, DomSnapshot> snapshots = new LinkedHashMap<>();
+        try {
+            if (!url.equals(driver.getCurrentUrl())) {
+                driver.get(url);
+            }
+            for (Breakpoint breakpoint : breakpoints) {
+                driver.manage().window().setSize(new Dimension(breakpoint.getWidth(), breakpoint.getHeight()));
+                Waits.until(driver, ready.and(ReadinessConditions.layoutSettled()), 0);
+                snapshots.put(breakpoint, query.take(driver));
+            }
+            return snapshots;
+        } finally {
+            driver.manage().window().setSize(original);
+        }
+    }
+
+    private static List<Breakpoint> loadBreakpoints() {
+        Properties properties = new Properties();
+        String file = System.getProperty("responsive.file");
+        try (InputStream in = file != null
+                ? Files.newInputStream(Paths.get(file))
+                : ResponsiveMatrix.class.getClassLoader().getResourceAsStream("responsive-breakpoints.properties")) {
+            if (in == null) {
+                throw new IllegalStateException("responsive-breakpoints.properties not found on the test classpath");
+            }
+            properties.load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read breakpoints " + file, e);
+        }
+
+        List<Breakpoint> breakpoints = new ArrayList<>();
+        for (String name : properties.stringPropertyNames()) {
+            Matcher matcher = SPEC.matcher(properties.getProperty(name).trim());
+            if (!matcher.matches()) {
+                throw new IllegalArgumentException("Invalid breakpoint " + name + "=" + properties.getProperty(name)
+                        + ", expected <width>x<height>@<deviceScaleFactor>[,touch]");
+            }
+            breakpoints.add(new Breakpoint(name,
+                    Integer.parseInt(matcher.group(1)),
+                    Integer.parseInt(matcher.group(2)),
+                    matcher.group(3) != null ? Double.parseDouble(matcher.group(3)) : 1.0,
+                    matcher.group(4) != null));
+        }
+        // Widest first, like the order the tests used to resize in
+        breakpoints.sort(Comparator.comparingInt(Breakpoint::getWidth).reversed());
+        return breakpoints;
+    }
+}
@@ -0,0 +1,150 @@
+package com.globalnews.utils;
+
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestContext;
+import org.testng.ITestListener;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Splits the suite into -Dshard.total shards balanced by historical duration and
+ * runs only the methods of -Dshard.index. Methods are assigned longest first to the
+ * shard with the least accumulated time; every shard computes the same assignment
+ * from the same timing file, so no coordination is needed between nodes.
+ * Durations of this run are written after the suite: to the timing file itself when
+ * unsharded, or to target/test-timings-shard-N.tsv for {@link ShardMerge}.
+ */
+public class ShardListener implements IMethodInterceptor, ITestListener, ISuiteListener {
+
+    private static final int SHARD_INDEX = Integer.getInteger("shard.index", 0);
+    private static final int SHARD_TOTAL = Math.max(1, Integer.getInteger("shard.total", 1));
+    private static final Path TIMINGS_FILE = Paths.get(System.getProperty("shard.timings", "test-timings.tsv"));
+    private static final long DEFAULT_MILLIS = 10_000;
+
+    private final TestTimings history = loadHistory();
+    private final TestTimings measured = new TestTimings();
+    // Accumulated per-shard time across all <test> blocks of the suite
+    private final long[] shardLoad = new long[SHARD_TOTAL];
+    private long assignedMillis;
+    private int assignedMethods;
+
+    /**
+     * Timing file key of a test method
+     */
+    public static String key(ITestNGMethod method) {
+        return method.getRealClass().getSimpleName() + "#" + method.getMethodName();
+    }
+
+    @Override
+    public synchronized List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        if (SHARD_TOTAL <= 1) {
+            return methods;
+        }
+
+        long fallback = history.median(DEFAULT_MILLIS);
+        List<IMethodInstance> byDuration = new ArrayList<>(methods);
+        byDuration.sort(Comparator.comparingLong((IMethodInstance m) -> -estimate(m, fallback))
+                .thenComparing(m -> key(m.getMethod())));
+
+        List<IMethodInstance> mine = new ArrayList<>();
+        for (IMethodInstance method : byDuration) {
+            int shard = 0;
+            for (int i = 1; i < SHARD_TOTAL; i++) {
+                if (shardLoad[i] < shardLoad[shard]) {
+                    shard = i;
+                }
+            }
+            long millis = estimate(method, fallback);
+            shardLoad[shard] += millis;
+            if (shard == SHARD_INDEX) {
+                mine.add(method);
+                assignedMillis += millis;
+                assignedMethods++;
+            }
+        }
+        // Keep the suite's own order within the shard
+        List<IMethodInstance> result = new ArrayList<>();
+        for (IMethodInstance method : methods) {
+            if (mine.contains(method)) {
+                result.add(method);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        record(result);
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        record(result);
+    }
+
+    @Override
+    public void onStart(ISuite suite) {
+        if (SHARD_TOTAL > 1) {
+            System.out.println("🧩 Shard " + SHARD_INDEX + "/" + SHARD_TOTAL + " (" + suite.getName() + "): "
+                    + history.size() + " known durations in " + TIMINGS_FILE);
+        }
+    }
+
+    @Override
+    public synchronized void onFinish(ISuite suite) {
+        if (SHARD_TOTAL > 1) {
+            System.out.printf("🧩 Shard %d/%d (%s): %d methods, ~%ds expected; shard loads %s%n",
+                    SHARD_INDEX, SHARD_TOTAL, suite.getName(), assignedMethods, assignedMillis / 1000,
+                    describeLoads());
+        }
+        if (measured.size() == 0) {
+            return;
+        }
+        try {
+            if (SHARD_TOTAL > 1) {
+                measured.save(Paths.get("target", "test-timings-shard-" + SHARD_INDEX + ".tsv"));
+            } else {
+                history.merge(measured);
+                history.save(TIMINGS_FILE);
+            }
+        } catch (IOException e) {
+            EventLog.warning("ShardListener", "Could not write test timings", e.getMessage());
+        }
+    }
+
+    private long estimate(IMethodInstance method, long fallback) {
+        long millis = history.get(key(method.getMethod()));
+        return millis < 0 ? fallback : millis;
+    }
+
+    private void record(ITestResult result) {
+        measured.record(key(result.getMethod()), result.getEndMillis() - result.getStartMillis());
+    }
+
+    private String describeLoads() {
+        StringBuilder loads = new StringBuilder("[");
+        for (int i = 0; i < SHARD_TOTAL; i++) {
+            loads.append(i == 0 ? "" : ", ").append(shardLoad[i] / 1000).append('s');
+        }
+        return loads.append(']').toString();
+    }
+
+    private static TestTimings loadHistory() {
+        try {
+            return TestTimings.load(TIMINGS_FILE);
+        } catch (IOException e) {
+            EventLog.warning("ShardListener", "Could not read test timings, balancing by count", e.getMessage());
+            return new TestTimings();
+        }
+    }
+}
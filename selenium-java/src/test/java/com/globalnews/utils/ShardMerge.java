@@ -0,0 +1,73 @@
+package com.globalnews.utils;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Combines the output of sharded runs: Allure result files are copied into one
+ * results directory and shard timings are folded into the timing file.
+ * <pre>
+ * mvn exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.globalnews.utils.ShardMerge \
+ *     -Dexec.args="target/allure-results shard-0/target shard-1/target"
+ * </pre>
+ * Each shard directory is the target/ directory of one shard run.
+ */
+public final class ShardMerge {
+
+    private ShardMerge() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: ShardMerge <merged-allure-results> <shard-target-dir>...");
+            System.exit(2);
+        }
+
+        Path mergedResults = Paths.get(args[0]);
+        Path timingsFile = Paths.get(System.getProperty("shard.timings", "test-timings.tsv"));
+        Files.createDirectories(mergedResults);
+        TestTimings timings = TestTimings.load(timingsFile);
+
+        int resultFiles = 0;
+        int timingFiles = 0;
+        for (int i = 1; i < args.length; i++) {
+            Path shard = Paths.get(args[i]);
+            resultFiles += copyResults(shard.resolve("allure-results"), mergedResults);
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(shard, "test-timings-shard-*.tsv")) {
+                for (Path file : files) {
+                    timings.merge(TestTimings.load(file));
+                    timingFiles++;
+                }
+            }
+        }
+        timings.save(timingsFile);
+
+        System.out.println("🧩 Merged " + resultFiles + " Allure files from " + (args.length - 1) + " shards into "
+                + mergedResults + " and " + timingFiles + " timing files into " + timingsFile);
+    }
+
+    /**
+     * Copy Allure result files; results are uniquely named per test, shared files
+     * such as environment.properties are simply overwritten
+     */
+    private static int copyResults(Path source, Path target) throws IOException {
+        if (!Files.isDirectory(source)) {
+            System.err.println("⚠️ No Allure results in " + source);
+            return 0;
+        }
+        int copied = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(source)) {
+            for (Path file : files) {
+                if (Files.isRegularFile(file)) {
+                    Files.copy(file, target.resolve(file.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+                    copied++;
+                }
+            }
+        }
+        return copied;
+    }
+}
@@ -0,0 +1,341 @@
+package com.globalnews.utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.Keys;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.chrome.ChromeDriver;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Soak run: one Chrome session stays on the app for a long time and repeats the globe
+ * rotation and country search flows of GlobeInteractionTest without reloading. Every
+ * soak.sampleEvery iterations it forces a garbage collection and reads JSHeapUsedSize,
+ * Nodes and JSEventListeners from Performance.getMetrics. At the end each metric gets a
+ * least-squares slope per iteration over the samples after warm-up; a metric that grows
+ * faster than its limit with a clear trend (R² of at least 0.5) is reported as a leak.
+ * <pre>
+ * mvn exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.globalnews.utils.SoakRunner \
+ *     -Dsoak.minutes=120 -Dsoak.iterations=5000
+ * </pre>
+ * The run stops at whichever of soak.minutes (default 60) and soak.iterations
+ * (default 0, no limit) comes first. The trend is written to target/soak-trend.tsv and
+ * the report to target/soak-report.txt; the exit code is 1 on a leak unless
+ * -Dsoak.failOnLeak=false. A run where more than soak.maxFailureRate (default 0.1) of
+ * the iterations failed did not exercise the flows it measures: its verdict is
+ * INCONCLUSIVE, it is left out of the metric history and the exit code is 1.
+ */
+public class SoakRunner {
+
+    static final String HEAP = "JSHeapUsedSize";
+    static final String NODES = "Nodes";
+    static final String LISTENERS = "JSEventListeners";
+    static final String[] METRICS = {HEAP, NODES, LISTENERS};
+
+    private static final Path TREND = Paths.get("target", "soak-trend.tsv");
+    private static final Path REPORT = Paths.get("target", "soak-report.txt");
+    private static final double MIN_R_SQUARED = 0.5;
+
+    private final String url;
+    private final long maxMillis;
+    private final long maxIterations;
+    private final int sampleEvery;
+    private final int warmupSamples;
+    private final double maxFailureRate;
+    private final List<String> countries;
+    private final Map<String, Double> limits = new HashMap<>();
+
+    private final List<Sample> samples = new ArrayList<>();
+    private long iterations;
+    private long failures;
+
+    /**
+     * Metrics read after one forced garbage collection
+     */
+    static class Sample {
+        final long iteration;
+        final long elapsedMillis;
+        final Map<String, Double> values;
+
+        Sample(long iteration, long elapsedMillis, Map<String, Double> values) {
+            this.iteration = iteration;
+            this.elapsedMillis = elapsedMillis;
+            this.values = values;
+        }
+    }
+
+    /**
+     * Growth of one metric over the run
+     */
+    static class Trend {
+        final String metric;
+        final double slope;
+        final double rSquared;
+        final double first;
+        final double last;
+        final double limit;
+
+        Trend(String metric, double slope, double rSquared, double first, double last, double limit) {
+            this.metric = metric;
+            this.slope = slope;
+            this.rSquared = rSquared;
+            this.first = first;
+            this.last = last;
+            this.limit = limit;
+        }
+
+        boolean isLeak() {
+            return slope > limit && rSquared >= MIN_R_SQUARED;
+        }
+
+        String verdict() {
+            if (isLeak()) {
+                return "LEAK";
+            }
+            return slope > limit ? "NOISY" : "OK";
+        }
+    }
+
+    public SoakRunner(String url, long maxMillis, long maxIterations) {
+        this.url = url;
+        this.maxMillis = maxMillis;
+        this.maxIterations = maxIterations;
+        this.sampleEvery = Math.max(1, Integer.getInteger("soak.sampleEvery", 10));
+        this.warmupSamples = Math.max(0, Integer.getInteger("soak.warmupSamples", 2));
+        this.maxFailureRate = Double.parseDouble(System.getProperty("soak.maxFailureRate", "0.1"));
+        this.countries = Arrays.asList(System.getProperty("soak.countries", "Mexico,France,Japan,Brazil").split(","));
+        // Growth per iteration allowed before a metric counts as leaking
+        limits.put(HEAP, Double.parseDouble(System.getProperty("soak.heapKbPerIteration", "20")) * 1024);
+        limits.put(NODES, Double.parseDouble(System.getProperty("soak.nodesPerIteration", "5")));
+        limits.put(LISTENERS, Double.parseDouble(System.getProperty("soak.listenersPerIteration", "1")));
+    }
+
+    public static void main(String[] args) {
+        SoakRunner runner = new SoakRunner(
+                System.getProperty("soak.url", BaseTest.BASE_URL),
+                TimeUnit.MINUTES.toMillis(Long.getLong("soak.minutes", 60)),
+                Long.getLong("soak.iterations", 0));
+        DriverManager.initializeDriver("chrome", Boolean.parseBoolean(System.getProperty("soak.headless", "true")));
+        try {
+            runner.run(DriverManager.getDriver());
+        } finally {
+            DriverManager.quitDriver();
+            DriverManager.shutdownPool();
+            EventLog.flush();
+        }
+
+        List<Trend> trends = runner.trends();
+        String report = runner.report(trends);
+        System.out.print(report);
+        runner.writeFiles(report);
+        if (runner.isInconclusive()) {
+            System.out.printf("❌ %d of %d soak iterations failed, above %.0f%%: no verdict%n",
+                    runner.failures, runner.iterations, runner.maxFailureRate * 100);
+            System.exit(1);
+        }
+        boolean regressed = runner.recordHistory(trends);
+
+        boolean leak = trends.stream().anyMatch(Trend::isLeak);
+        if (leak && Boolean.parseBoolean(System.getProperty("soak.failOnLeak", "true"))) {
+            System.out.println("❌ Memory growth above the soak limits");
+            System.exit(1);
+        }
+        if (regressed) {
+            System.out.println("❌ Soak growth regressed against the baseline");
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Load the app once and repeat the flows until the duration or iteration cap
+     */
+    public void run(WebDriver driver) {
+        if (!(DriverManager.unwrap(driver) instanceof ChromeDriver)) {
+            throw new IllegalStateException("Soak runs need Chrome for Performance.getMetrics");
+        }
+        ChromeDriver chrome = (ChromeDriver) DriverManager.unwrap(driver);
+        chrome.executeCdpCommand("Performance.enable", Map.of());
+        System.out.printf("🫧 Soak: %s for %d min%s, sampling every %d iterations%n", url,
+                TimeUnit.MILLISECONDS.toMinutes(maxMillis),
+                maxIterations > 0 ? " or " + maxIterations + " iterations" : "", sampleEvery);
+
+        driver.get(url);
+        Waits.until(driver, ReadinessConditions.appReady().and(ReadinessConditions.globeRendered()), 0);
+        long start = System.currentTimeMillis();
+        samples.add(new Sample(0, 0, sample(chrome)));
+
+        while (System.currentTimeMillis() - start < maxMillis && (maxIterations <= 0 || iterations < maxIterations)) {
+            try {
+                iteration(driver, countries.get((int) (iterations % countries.size())));
+            } catch (RuntimeException e) {
+                // Keep the page: a reload would hide the growth being measured
+                failures++;
+                EventLog.warning("SoakRunner", "Iteration " + iterations + " failed", e.getClass().getSimpleName());
+                closePanel(driver);
+            }
+            iterations++;
+            if (iterations % sampleEvery == 0) {
+                Sample sample = new Sample(iterations, System.currentTimeMillis() - start, sample(chrome));
+                samples.add(sample);
+                System.out.printf("🫧 %6d iterations  heap %.1f MB  nodes %.0f  listeners %.0f%n", iterations,
+                        sample.values.getOrDefault(HEAP, 0.0) / (1024 * 1024),
+                        sample.values.getOrDefault(NODES, 0.0), sample.values.getOrDefault(LISTENERS, 0.0));
+            }
+        }
+    }
+
+    /**
+     * Rotate the globe, search a country and wait for its news panel, then close the
+     * panel again so the next iteration waits for its own search and drags the globe
+     */
+    private void iteration(WebDriver driver, String country) {
+        FrameMetrics.dragGlobe(driver, 1);
+        WebElement search = driver.findElement(By.cssSelector(ReadinessConditions.SEARCH_INPUT));
+        search.clear();
+        search.sendKeys(country);
+        Waits.until(driver, ReadinessConditions.inputValue(ReadinessConditions.SEARCH_INPUT, country), 0);
+        search.sendKeys(Keys.ENTER);
+        Waits.until(driver, ReadinessConditions.panelOpen(), 0);
+        // Same as 06-news-panel-interaction.cy.js: Escape on the page closes the panel
+        driver.findElement(By.tagName("body")).sendKeys(Keys.ESCAPE);
+        Waits.until(driver, ReadinessConditions.panelClosed(), 0);
+    }
+
+    /**
+     * After a failed iteration, don't let a panel left open satisfy the next one's wait
+     */
+    private static void closePanel(WebDriver driver) {
+        try {
+            driver.findElement(By.tagName("body")).sendKeys(Keys.ESCAPE);
+            Waits.until(driver, ReadinessConditions.panelClosed(), 0);
+        } catch (RuntimeException e) {
+            EventLog.warning("SoakRunner", "Could not close the news panel", e.getClass().getSimpleName());
+        }
+    }
+
+    /**
+     * Too many iterations failed (or none ran) for the trend to say anything
+     */
+    boolean isInconclusive() {
+        return iterations == 0 || failures > iterations * maxFailureRate;
+    }
+
+    /**
+     * Force a full garbage collection, then read the page's metrics
+     */
+    @SuppressWarnings("unchecked")
+    private static Map<String, Double> sample(ChromeDriver chrome) {
+        chrome.executeCdpCommand("HeapProfiler.collectGarbage", Map.of());
+        Map<String, Object> result = chrome.executeCdpCommand("Performance.getMetrics", Map.of());
+        Map<String, Double> values = new HashMap<>();
+        for (Map<String, Object> metric : (List<Map<String, Object>>) result.get("metrics")) {
+            values.put((String) metric.get("name"), ((Number) metric.get("value")).doubleValue());
+        }
+        return values;
+    }
+
+    /**
+     * Least-squares slope per iteration of every metric, leaving out the warm-up samples
+     */
+    List<Trend> trends() {
+        List<Sample> measured = samples.size() > warmupSamples + 2
+                ? samples.subList(warmupSamples, samples.size())
+                : samples;
+        List<Trend> trends = new ArrayList<>();
+        for (String metric : METRICS) {
+            int n = measured.size();
+            if (n < 2) {
+                trends.add(new Trend(metric, 0, 0, 0, 0, limits.get(metric)));
+                continue;
+            }
+            double sumX = 0;
+            double sumY = 0;
+            for (Sample sample : measured) {
+                sumX += sample.iteration;
+                sumY += sample.values.getOrDefault(metric, 0.0);
+            }
+            double meanX = sumX / n;
+            double meanY = sumY / n;
+            double sxx = 0;
+            double sxy = 0;
+            double syy = 0;
+            for (Sample sample : measured) {
+                double dx = sample.iteration - meanX;
+                double dy = sample.values.getOrDefault(metric, 0.0) - meanY;
+                sxx += dx * dx;
+                sxy += dx * dy;
+                syy += dy * dy;
+            }
+            double slope = sxx == 0 ? 0 : sxy / sxx;
+            double rSquared = sxx == 0 || syy == 0 ? 0 : (sxy * sxy) / (sxx * syy);
+            trends.add(new Trend(metric, slope, rSquared,
+                    measured.get(0).values.getOrDefault(metric, 0.0),
+                    measured.get(n - 1).values.getOrDefault(metric, 0.0),
+                    limits.get(metric)));
+        }
+        return trends;
+    }
+
+    /**
+     * Run totals, then one line per metric with its slope and verdict
+     */
+    String report(List<Trend> trends) {
+        StringBuilder report = new StringBuilder();
+        Sample last = samples.get(samples.size() - 1);
+        report.append(String.format("%d iterations (%d failed) in %.1f min, %d samples, first %d as warm-up%n%n",
+                iterations, failures, last.elapsedMillis / 60000.0, samples.size(), warmupSamples));
+        report.append(String.format("%-18s %14s %14s %16s %14s %6s %12s%n",
+                "metric", "first", "last", "slope/iteration", "limit", "R²", "verdict"));
+        for (Trend trend : trends) {
+            report.append(String.format("%-18s %14.0f %14.0f %16.2f %14.2f %6.2f %12s%n", trend.metric,
+                    trend.first, trend.last, trend.slope, trend.limit, trend.rSquared,
+                    isInconclusive() ? "INCONCLUSIVE" : trend.verdict()));
+        }
+        return report.toString();
+    }
+
+    /**
+     * Slopes go to the {@link MetricHistory}, so growth that creeps up between releases shows too
+     * @return True when the regressions should fail the run (-Dmetrics.failOnRegression)
+     */
+    boolean recordHistory(List<Trend> trends) {
+        for (Trend trend : trends) {
+            MetricHistory.record("soak." + trend.metric + ".perIteration", Math.max(0, trend.slope), url);
+        }
+        return MetricHistory.finishAndReport("soak");
+    }
+
+    void writeFiles(String report) {
+        StringBuilder trend = new StringBuilder("iteration\telapsedSeconds");
+        for (String metric : METRICS) {
+            trend.append('\t').append(metric);
+        }
+        trend.append('\n');
+        for (Sample sample : samples) {
+            trend.append(sample.iteration).append('\t').append(sample.elapsedMillis / 1000);
+            for (String metric : METRICS) {
+                trend.append('\t').append(String.format(Locale.ROOT, "%.0f", sample.values.getOrDefault(metric, 0.0)));
+            }
+            trend.append('\n');
+        }
+        try {
+            Files.createDirectories(REPORT.toAbsolutePath().getParent());
+            Files.write(TREND, trend.toString().getBytes(StandardCharsets.UTF_8));
+            Files.write(REPORT, report.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            EventLog.warning("SoakRunner", "Could not write " + REPORT, e.getMessage());
+        }
+    }
+}
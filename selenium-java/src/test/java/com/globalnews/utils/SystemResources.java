@@ -0,0 +1,116 @@
+package com.globalnews.utils;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Host resource readings used to size test concurrency
+ * Reads /proc on Linux and falls back to the platform MXBeans elsewhere.
+ */
+public final class SystemResources {
+
+    private static final Path PROC = Paths.get("/proc");
+    private static final OperatingSystemMXBean OS = ManagementFactory.getOperatingSystemMXBean();
+    private static final long CLOCK_TICKS_PER_SECOND = 100;
+
+    private SystemResources() {
+    }
+
+    public static int availableCores() {
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * One-minute load average, or -1 when the platform does not report it
+     */
+    public static double loadAverage() {
+        return OS.getSystemLoadAverage();
+    }
+
+    /**
+     * Memory available to new processes in bytes (MemAvailable), or -1 when unknown
+     */
+    @SuppressWarnings("deprecation")
+    public static long availableMemoryBytes() {
+        long fromProc = procKilobytes(PROC.resolve("meminfo"), "MemAvailable:");
+        if (fromProc >= 0) {
+            return fromProc * 1024;
+        }
+        if (OS instanceof com.sun.management.OperatingSystemMXBean) {
+            return ((com.sun.management.OperatingSystemMXBean) OS).getFreePhysicalMemorySize();
+        }
+        return -1;
+    }
+
+    /**
+     * Resident memory of one process in bytes, or -1 when it cannot be read
+     */
+    public static long residentBytes(long pid) {
+        long kilobytes = procKilobytes(PROC.resolve(Long.toString(pid)).resolve("status"), "VmRSS:");
+        return kilobytes < 0 ? -1 : kilobytes * 1024;
+    }
+
+    /**
+     * CPU time (user + system) used so far by one process in nanoseconds, or -1 when it
+     * cannot be read. Reads /proc/&lt;pid&gt;/stat, assuming the usual 100 clock ticks per second.
+     */
+    public static long cpuNanos(long pid) {
+        try {
+            String stat = new String(Files.readAllBytes(PROC.resolve(Long.toString(pid)).resolve("stat")),
+                    StandardCharsets.US_ASCII);
+            // Fields after "pid (comm) ", which may itself contain spaces: state is field 3, utime 14, stime 15
+            String[] fields = stat.substring(stat.lastIndexOf(')') + 2).split(" ");
+            long ticks = Long.parseLong(fields[11]) + Long.parseLong(fields[12]);
+            return ticks * TimeUnit.SECONDS.toNanos(1) / CLOCK_TICKS_PER_SECOND;
+        } catch (IOException | RuntimeException e) {
+            // Not Linux, or the process already exited
+        }
+        return ProcessHandle.of(pid)
+                .flatMap(process -> process.info().totalCpuDuration())
+                .map(Duration::toNanos)
+                .orElse(-1L);
+    }
+
+    /**
+     * Combined resident memory of every process started by this JVM
+     * (drivers and browsers), or -1 when it cannot be read
+     */
+    public static long descendantResidentBytes() {
+        long[] total = {0};
+        boolean[] readable = {false};
+        ProcessHandle.current().descendants().forEach(process -> {
+            long rss = residentBytes(process.pid());
+            if (rss >= 0) {
+                total[0] += rss;
+                readable[0] = true;
+            }
+        });
+        return readable[0] ? total[0] : -1;
+    }
+
+    /**
+     * Value in kB of a "Key:   123 kB" line in a /proc file, or -1
+     */
+    static long procKilobytes(Path file, String key) {
+        try {
+            List<String> lines = Files.readAllLines(file);
+            for (String line : lines) {
+                if (line.startsWith(key)) {
+                    String[] parts = line.substring(key.length()).trim().split("\\s+");
+                    return Long.parseLong(parts[0]);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // Not Linux, or the process already exited
+        }
+        return -1;
+    }
+}
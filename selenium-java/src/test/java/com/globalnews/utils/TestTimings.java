@@ -0,0 +1,115 @@
+package com.globalnews.utils;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Historical test durations used to balance shards
+ * Stored as TSV lines "Class#method, average millis, runs"; the average moves
+ * towards new measurements but weighs at most the last {@value #WINDOW} runs.
+ */
+public class TestTimings {
+
+    private static final int WINDOW = 5;
+
+    private final Map<String, long[]> timings = new TreeMap<>();
+
+    /**
+     * Timings from a file, or empty timings when it does not exist
+     */
+    public static TestTimings load(Path file) throws IOException {
+        TestTimings result = new TestTimings();
+        if (!Files.exists(file)) {
+            return result;
+        }
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            String[] fields = line.split("\t");
+            if (line.startsWith("#") || fields.length < 3) {
+                continue;
+            }
+            try {
+                result.timings.put(fields[0], new long[] {Long.parseLong(fields[1]), Long.parseLong(fields[2])});
+            } catch (NumberFormatException e) {
+                EventLog.warning("TestTimings", "Ignoring malformed timing line", line);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Average duration in millis, or -1 when the test has never run
+     */
+    public synchronized long get(String key) {
+        long[] entry = timings.get(key);
+        return entry == null ? -1 : entry[0];
+    }
+
+    /**
+     * Median of all known durations, used for tests without history
+     */
+    public synchronized long median(long fallback) {
+        if (timings.isEmpty()) {
+            return fallback;
+        }
+        List<Long> values = new ArrayList<>();
+        for (long[] entry : timings.values()) {
+            values.add(entry[0]);
+        }
+        Collections.sort(values);
+        return values.get(values.size() / 2);
+    }
+
+    /**
+     * Fold one measured duration into the average
+     */
+    public synchronized void record(String key, long millis) {
+        long[] entry = timings.get(key);
+        if (entry == null) {
+            timings.put(key, new long[] {millis, 1});
+            return;
+        }
+        long runs = entry[1] + 1;
+        entry[0] += (millis - entry[0]) / Math.min(runs, WINDOW);
+        entry[1] = runs;
+    }
+
+    /**
+     * Fold the measurements of another run (e.g. a shard) into these timings
+     */
+    public synchronized void merge(TestTimings other) {
+        synchronized (other) {
+            for (Map.Entry<String, long[]> entry : other.timings.entrySet()) {
+                record(entry.getKey(), entry.getValue()[0]);
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return timings.size();
+    }
+
+    /**
+     * Write atomically so a concurrent reader never sees a partial file
+     */
+    public synchronized void save(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, "timings", ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            writer.write("# test\taverageMillis\truns\n");
+            for (Map.Entry<String, long[]> entry : timings.entrySet()) {
+                writer.write(entry.getKey() + "\t" + entry.getValue()[0] + "\t" + entry.getValue()[1] + "\n");
+            }
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
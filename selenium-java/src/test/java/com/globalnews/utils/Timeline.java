@@ -0,0 +1,258 @@
+package com.globalnews.utils;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-thread execution timeline of the suite, written as Chrome trace events
+ * (open target/timeline.json in chrome://tracing or https://ui.perfetto.dev).
+ * Spans are kept in a buffer owned by the recording thread, so recording one is a
+ * nanoTime call and a few array stores; nothing is formatted until the suite ends.
+ * <pre>
+ * long start = Timeline.start();
+ * ...
+ * Timeline.end("navigate", Timeline.DRIVER, start);
+ * </pre>
+ * -Dtimeline=false turns recording off, -Dtimeline.file=&lt;path&gt; moves the file.
+ */
+public final class Timeline {
+
+    public static final String TEST = "test";
+    public static final String CONFIGURATION = "configuration";
+    public static final String DRIVER = "driver";
+    public static final String WAIT = "wait";
+    public static final String ARTIFACT = "artifact";
+
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("timeline", "true"));
+    private static final Path FILE = Paths.get(System.getProperty("timeline.file", "target/timeline.json"));
+    private static final int MAX_SPANS_PER_THREAD = Integer.getInteger("timeline.maxSpansPerThread", 100_000);
+
+    private static final long ORIGIN = System.nanoTime();
+    private static final AtomicLong NEXT_TID = new AtomicLong(1);
+    private static final AtomicLong DROPPED = new AtomicLong();
+    private static final Queue<Buffer> BUFFERS = new ConcurrentLinkedQueue<>();
+    private static final ThreadLocal<Buffer> BUFFER = ThreadLocal.withInitial(() -> {
+        Buffer buffer = new Buffer(NEXT_TID.getAndIncrement(), Thread.currentThread().getName());
+        BUFFERS.add(buffer);
+        return buffer;
+    });
+
+    private Timeline() {
+    }
+
+    /**
+     * Spans recorded by one thread, as parallel arrays
+     */
+    private static final class Buffer {
+        final long tid;
+        final String threadName;
+        String[] names = new String[256];
+        String[] categories = new String[256];
+        long[] starts = new long[256];
+        long[] durations = new long[256];
+        int size;
+
+        Buffer(long tid, String threadName) {
+            this.tid = tid;
+            this.threadName = threadName;
+        }
+
+        synchronized void add(String name, String category, long start, long duration) {
+            if (size == names.length) {
+                if (size >= MAX_SPANS_PER_THREAD) {
+                    DROPPED.incrementAndGet();
+                    return;
+                }
+                int capacity = Math.min(size * 2, MAX_SPANS_PER_THREAD);
+                names = Arrays.copyOf(names, capacity);
+                categories = Arrays.copyOf(categories, capacity);
+                starts = Arrays.copyOf(starts, capacity);
+                durations = Arrays.copyOf(durations, capacity);
+            }
+            names[size] = name;
+            categories[size] = category;
+            starts[size] = start;
+            durations[size] = duration;
+            size++;
+        }
+    }
+
+    /**
+     * How much of the test threads' time went into test and configuration methods
+     */
+    public static class Utilization {
+        private final int threads;
+        private final long wallNanos;
+        private final long busyNanos;
+        private final long driverNanos;
+        private final long waitNanos;
+
+        Utilization(int threads, long wallNanos, long busyNanos, long driverNanos, long waitNanos) {
+            this.threads = threads;
+            this.wallNanos = wallNanos;
+            this.busyNanos = busyNanos;
+            this.driverNanos = driverNanos;
+            this.waitNanos = waitNanos;
+        }
+
+        /**
+         * Share of the available thread time spent in test and configuration methods
+         */
+        public double getUtilization() {
+            return threads == 0 || wallNanos == 0 ? 0 : busyNanos / (double) (threads * wallNanos);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d threads over %.1fs, utilization %.0f%% (driver %.0f%%, waits %.0f%% of busy time)",
+                    threads, wallNanos / 1e9, getUtilization() * 100,
+                    busyNanos == 0 ? 0 : driverNanos * 100.0 / busyNanos,
+                    busyNanos == 0 ? 0 : waitNanos * 100.0 / busyNanos);
+        }
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Start of a span; pass it to {@link #end}
+     */
+    public static long start() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Record a span of the current thread that started at {@code start}
+     */
+    public static void end(String name, String category, long start) {
+        if (ENABLED) {
+            long now = System.nanoTime();
+            BUFFER.get().add(name, category, start, now - start);
+        }
+    }
+
+    /**
+     * Thread utilization between two instants: busy time is what the threads that ran
+     * a test method spent in test and configuration methods, out of the time of the
+     * suite's configured threads, so threads that never got a test count as idle
+     * @param configuredThreads Thread count the suite was configured with
+     */
+    public static Utilization utilization(long fromNanos, long toNanos, int configuredThreads) {
+        int threads = 0;
+        long busy = 0;
+        long driver = 0;
+        long waits = 0;
+        for (Buffer buffer : BUFFERS) {
+            boolean ranTests = false;
+            long threadBusy = 0;
+            long threadDriver = 0;
+            long threadWaits = 0;
+            synchronized (buffer) {
+                for (int i = 0; i < buffer.size; i++) {
+                    long overlap = Math.min(buffer.starts[i] + buffer.durations[i], toNanos)
+                            - Math.max(buffer.starts[i], fromNanos);
+                    if (overlap <= 0) {
+                        continue;
+                    }
+                    String category = buffer.categories[i];
+                    if (TEST.equals(category)) {
+                        ranTests = true;
+                        threadBusy += overlap;
+                    } else if (CONFIGURATION.equals(category)) {
+                        threadBusy += overlap;
+                    } else if (DRIVER.equals(category)) {
+                        threadDriver += overlap;
+                    } else if (WAIT.equals(category)) {
+                        threadWaits += overlap;
+                    }
+                }
+            }
+            // Background threads (pre-spawn, artifact writer) are in the trace but not in the ratio
+            if (ranTests) {
+                threads++;
+                busy += threadBusy;
+                driver += threadDriver;
+                waits += threadWaits;
+            }
+        }
+        return new Utilization(Math.max(threads, configuredThreads), toNanos - fromNanos, busy, driver, waits);
+    }
+
+    /**
+     * Write every span recorded so far to the trace file
+     */
+    public static Path write() throws IOException {
+        Path directory = FILE.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, "timeline", ".tmp");
+        List<Buffer> buffers = new ArrayList<>(BUFFERS);
+        try (BufferedWriter out = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            out.write("{\"displayTimeUnit\":\"ms\",\"traceEvents\":[");
+            StringBuilder event = new StringBuilder(160);
+            boolean first = true;
+            for (Buffer buffer : buffers) {
+                synchronized (buffer) {
+                    event.setLength(0);
+                    event.append(first ? "\n" : ",\n")
+                            .append("{\"ph\":\"M\",\"name\":\"thread_name\",\"pid\":1,\"tid\":").append(buffer.tid)
+                            .append(",\"args\":{");
+                    appendString(event, "name", buffer.threadName);
+                    event.append("}}");
+                    out.append(event);
+                    first = false;
+
+                    for (int i = 0; i < buffer.size; i++) {
+                        event.setLength(0);
+                        event.append(",\n{\"ph\":\"X\",\"pid\":1,\"tid\":").append(buffer.tid)
+                                .append(",\"ts\":").append(micros(buffer.starts[i] - ORIGIN))
+                                .append(",\"dur\":").append(micros(buffer.durations[i])).append(',');
+                        appendString(event, "name", buffer.names[i]);
+                        event.append(',');
+                        appendString(event, "cat", buffer.categories[i]);
+                        event.append('}');
+                        out.append(event);
+                    }
+                }
+            }
+            out.write("\n]}\n");
+        }
+        Files.move(temp, FILE, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return FILE;
+    }
+
+    public static long getDropped() {
+        return DROPPED.get();
+    }
+
+    private static String micros(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1000.0);
+    }
+
+    private static void appendString(StringBuilder event, String name, String value) {
+        event.append('"').append(name).append("\":\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                event.append('\\').append(c);
+            } else if (c < 0x20) {
+                event.append(String.format("\\u%04x", (int) c));
+            } else {
+                event.append(c);
+            }
+        }
+        event.append('"');
+    }
+}
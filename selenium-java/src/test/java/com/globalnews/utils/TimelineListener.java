@@ -0,0 +1,75 @@
+package com.globalnews.utils;
+
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestResult;
+import org.testng.xml.XmlTest;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Records every test and configuration method as a span of its thread (see {@link Timeline})
+ * and writes the suite's trace file with a thread utilization summary at the end
+ */
+public class TimelineListener implements IInvokedMethodListener, ISuiteListener {
+
+    private static final ThreadLocal<Long> METHOD_START = new ThreadLocal<>();
+
+    private volatile long suiteStart;
+
+    @Override
+    public void onStart(ISuite suite) {
+        suiteStart = Timeline.start();
+    }
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        METHOD_START.set(Timeline.start());
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        Long start = METHOD_START.get();
+        if (start == null) {
+            return;
+        }
+        METHOD_START.remove();
+        String name = testResult.getTestClass().getRealClass().getSimpleName() + "#"
+                + method.getTestMethod().getMethodName();
+        Timeline.end(name, method.isTestMethod() ? Timeline.TEST : Timeline.CONFIGURATION, start);
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (!Timeline.isEnabled()) {
+            return;
+        }
+        Timeline.Utilization utilization = Timeline.utilization(suiteStart, Timeline.start(), configuredThreads(suite));
+        try {
+            Path file = Timeline.write();
+            System.out.println("🧵 Timeline (" + suite.getName() + "): " + utilization + " -> " + file);
+        } catch (IOException e) {
+            EventLog.warning("TimelineListener", "Could not write the timeline", e.getMessage());
+        }
+        if (Timeline.getDropped() > 0) {
+            EventLog.warning("TimelineListener", Timeline.getDropped() + " timeline spans were dropped",
+                    "raise timeline.maxSpansPerThread");
+        }
+    }
+
+    /**
+     * Most threads any of the suite's tests may run on: its thread-count when parallel, else one
+     */
+    private static int configuredThreads(ISuite suite) {
+        int threads = 1;
+        for (XmlTest test : suite.getXmlSuite().getTests()) {
+            if (test.getParallel() != null && test.getParallel().isParallel()) {
+                threads = Math.max(threads, test.getThreadCount());
+            }
+        }
+        return threads;
+    }
+}
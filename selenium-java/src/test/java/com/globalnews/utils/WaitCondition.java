@@ -0,0 +1,86 @@
+package com.globalnews.utils;
+
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+import java.util.function.Predicate;
+
+/**
+ * Named readiness condition with its own timeout
+ * Conditions can be combined with {@link #and} and {@link #or}
+ */
+public class WaitCondition {
+
+    public static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(10);
+
+    private final String name;
+    private final Predicate<WebDriver> check;
+    private final Duration timeout;
+
+    public WaitCondition(String name, Duration timeout, Predicate<WebDriver> check) {
+        this.name = name;
+        this.timeout = timeout;
+        this.check = check;
+    }
+
+    /**
+     * Create a condition with the default timeout
+     */
+    public static WaitCondition of(String name, Predicate<WebDriver> check) {
+        return new WaitCondition(name, DEFAULT_TIMEOUT, check);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Evaluate the condition once
+     */
+    public boolean test(WebDriver driver) {
+        return check.test(driver);
+    }
+
+    /**
+     * Same condition with a different timeout
+     */
+    public WaitCondition withTimeout(Duration newTimeout) {
+        return new WaitCondition(name, newTimeout, check);
+    }
+
+    /**
+     * Same condition under a different name
+     */
+    public WaitCondition named(String newName) {
+        return new WaitCondition(newName, timeout, check);
+    }
+
+    /**
+     * Holds when both conditions hold; uses the longer of the two timeouts
+     */
+    public WaitCondition and(WaitCondition other) {
+        return new WaitCondition(name + "+" + other.name, max(timeout, other.timeout),
+                driver -> check.test(driver) && other.check.test(driver));
+    }
+
+    /**
+     * Holds when either condition holds; uses the longer of the two timeouts
+     */
+    public WaitCondition or(WaitCondition other) {
+        return new WaitCondition(name + "|" + other.name, max(timeout, other.timeout),
+                driver -> check.test(driver) || other.check.test(driver));
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    private static Duration max(Duration a, Duration b) {
+        return a.compareTo(b) >= 0 ? a : b;
+    }
+}
@@ -0,0 +1,26 @@
+package com.globalnews.utils;
+
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+import java.util.Map;
+
+/**
+ * Suite listener that reports how long condition waits took versus the sleeps they replaced
+ */
+public class WaitStatsListener implements ISuiteListener {
+
+    @Override
+    public void onFinish(ISuite suite) {
+        Map<String, Waits.Stats> stats = Waits.getStats();
+        if (stats.isEmpty()) {
+            return;
+        }
+
+        System.out.println("⏱️ Wait statistics (" + suite.getName() + "):");
+        for (Map.Entry<String, Waits.Stats> entry : stats.entrySet()) {
+            System.out.println("   " + entry.getKey() + ": " + entry.getValue());
+        }
+        System.out.println("⏱️ Time saved versus fixed sleeps: " + Waits.getTotalSavedMillis() + "ms");
+    }
+}
@@ -0,0 +1,157 @@
+package com.globalnews.utils;
+
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.FluentWait;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Condition-driven wait engine
+ * Polls a {@link WaitCondition} and returns as soon as it holds. Every wait is
+ * recorded against the fixed sleep it replaced so the time saved can be reported.
+ */
+public final class Waits {
+
+    public static final Duration POLL_INTERVAL = Duration.ofMillis(Long.getLong("wait.pollMillis", 50));
+
+    private static final Map<String, Stats> STATS = new ConcurrentHashMap<>();
+
+    private Waits() {
+    }
+
+    /**
+     * Wait for a condition on the current thread's driver
+     * @throws TimeoutException if the condition does not hold within its timeout
+     */
+    public static void until(WaitCondition condition) {
+        until(DriverManager.getDriver(), condition, 0);
+    }
+
+    /**
+     * Wait for a condition that replaces a fixed sleep
+     * @param replacedSleepSeconds Length of the sleep this wait replaces, for reporting
+     * @throws TimeoutException if the condition does not hold within its timeout
+     */
+    public static void until(WaitCondition condition, int replacedSleepSeconds) {
+        until(DriverManager.getDriver(), condition, TimeUnit.SECONDS.toMillis(replacedSleepSeconds));
+    }
+
+    /**
+     * Wait for a condition without failing
+     * @return true if the condition held before its timeout
+     */
+    public static boolean tryUntil(WaitCondition condition, int replacedSleepSeconds) {
+        try {
+            until(condition, replacedSleepSeconds);
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Wait for a condition on the given driver
+     * @param replacedSleepMillis Length of the sleep this wait replaces, 0 if none
+     */
+    public static void until(WebDriver driver, WaitCondition condition, long replacedSleepMillis) {
+        FluentWait<WebDriver> wait = new FluentWait<>(driver)
+                .withTimeout(condition.getTimeout())
+                .pollingEvery(POLL_INTERVAL)
+                .withMessage("waiting for " + condition.getName())
+                .ignoring(NoSuchElementException.class)
+                .ignoring(StaleElementReferenceException.class)
+                .ignoring(JavascriptException.class);
+
+        long start = System.nanoTime();
+        boolean timedOut = false;
+        try {
+            wait.until(condition::test);
+        } catch (TimeoutException e) {
+            timedOut = true;
+            throw e;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            STATS.computeIfAbsent(condition.getName(), k -> new Stats())
+                    .record(elapsed, replacedSleepMillis, timedOut);
+            CommandLatency.record("wait " + condition.getName(), elapsed);
+            Timeline.end("wait " + condition.getName(), Timeline.WAIT, start);
+        }
+    }
+
+    /**
+     * Snapshot of wait statistics by condition name
+     */
+    public static Map<String, Stats> getStats() {
+        return new TreeMap<>(STATS);
+    }
+
+    /**
+     * Total time saved against the replaced fixed sleeps, in milliseconds
+     */
+    public static long getTotalSavedMillis() {
+        return STATS.values().stream().mapToLong(Stats::getSavedMillis).sum();
+    }
+
+    /**
+     * Per-condition wait statistics
+     */
+    public static class Stats {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder timeouts = new LongAdder();
+        private final LongAdder actualNanos = new LongAdder();
+        private final LongAdder replacedCount = new LongAdder();
+        private final LongAdder replacedActualNanos = new LongAdder();
+        private final LongAdder replacedSleepMillis = new LongAdder();
+
+        void record(long nanos, long replacedMillis, boolean timedOut) {
+            count.increment();
+            actualNanos.add(nanos);
+            if (timedOut) {
+                timeouts.increment();
+            }
+            if (replacedMillis > 0) {
+                replacedCount.increment();
+                replacedActualNanos.add(nanos);
+                replacedSleepMillis.add(replacedMillis);
+            }
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public long getTimeouts() {
+            return timeouts.sum();
+        }
+
+        public long getActualMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(actualNanos.sum());
+        }
+
+        public long getReplacedSleepMillis() {
+            return replacedSleepMillis.sum();
+        }
+
+        /**
+         * Fixed sleep time minus the time actually waited, for waits that replaced a sleep
+         */
+        public long getSavedMillis() {
+            return replacedSleepMillis.sum() - TimeUnit.NANOSECONDS.toMillis(replacedActualNanos.sum());
+        }
+
+        @Override
+        public String toString() {
+            return String.format("waits=%d timeouts=%d actual=%dms replacedSleep=%dms saved=%dms",
+                    getCount(), getTimeouts(), getActualMillis(), getReplacedSleepMillis(), getSavedMillis());
+        }
+    }
+}